@@ -0,0 +1,222 @@
+package visualizer;
+
+import java.util.Arrays;
+
+// Array-backed tree storage: keys and child links are kept in parallel int arrays
+// instead of one TreeNode object per node. A node is identified by its index and
+// NIL marks a missing child, so a node costs 16 bytes and no object header.
+class ArrayTree implements IndexedTree {
+    static final int NIL = -1;
+
+    int[] keys;
+    int[] left;
+    int[] right;
+    int[] height; // Height of the subtree rooted at each node, set by every builder and maintained by insert
+    int size;
+    int root;
+
+    public ArrayTree() {
+        this(16);
+    }
+
+    public ArrayTree(int capacity) {
+        capacity = Math.max(capacity, 1);
+        keys = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        height = new int[capacity];
+        root = NIL;
+    }
+
+    @Override
+    public int root() {
+        return root;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int key(int node) {
+        return keys[node];
+    }
+
+    @Override
+    public int left(int node) {
+        return left[node];
+    }
+
+    @Override
+    public int right(int node) {
+        return right[node];
+    }
+
+    // Method to remove all nodes while keeping the allocated storage
+    public void clear() {
+        size = 0;
+        root = NIL;
+    }
+
+    // Method to allocate a new leaf node and return its index
+    int newNode(int key) {
+        if (size == keys.length) {
+            grow(size + 1);
+        }
+        int node = size++;
+        keys[node] = key;
+        left[node] = NIL;
+        right[node] = NIL;
+        height[node] = 1;
+        return node;
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, keys.length + (keys.length >> 1));
+        keys = Arrays.copyOf(keys, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        height = Arrays.copyOf(height, capacity);
+    }
+
+    // Method to insert nodes in level order, producing the same shape as BinaryTree.insertLevelOrder.
+    // The child links come straight from LevelOrderIndex, so node i is the i-th node in level order
+    public void insertLevelOrder(Integer[] nodes) {
+        LevelOrderIndex index = LevelOrderIndex.of(nodes);
+        clear();
+        if (index.count == 0) {
+            return;
+        }
+        int[] position = index.position;
+        keys = new int[index.left.length]; // Same capacity as the adopted link arrays
+        LevelOrderIndex.forEach(0, index.count, LevelOrderIndex.parallel(index.count),
+                node -> keys[node] = nodes[position[node]]);
+        left = index.left;
+        right = index.right;
+        height = new int[index.left.length];
+        // Children are numbered after their parent, so one reverse pass sees every child first
+        for (int node = index.count - 1; node >= 0; node--) {
+            height[node] = 1 + Math.max(height(left[node]), height(right[node]));
+        }
+        size = index.count;
+        root = 0;
+    }
+
+    // Method to insert a key in BST order and keep the tree AVL balanced, like BinarySearchTree.insert
+    public void insert(int key) {
+        root = insertRecursive(root, key);
+    }
+
+    private int insertRecursive(int node, int key) {
+        if (node == NIL) {
+            return newNode(key);
+        }
+
+        // The recursive call may grow the arrays, so it must complete before the store
+        // (left[node] = ... would evaluate the old array reference first)
+        if (key < keys[node]) {
+            int child = insertRecursive(left[node], key);
+            left[node] = child;
+        } else if (key > keys[node]) {
+            int child = insertRecursive(right[node], key);
+            right[node] = child;
+        } else {
+            // Duplicate keys are ignored, as in BinarySearchTree
+            return node;
+        }
+
+        return balance(node);
+    }
+
+    private int height(int node) {
+        return node == NIL ? 0 : height[node];
+    }
+
+    private void updateHeight(int node) {
+        height[node] = 1 + Math.max(height(left[node]), height(right[node]));
+    }
+
+    private int balanceFactor(int node) {
+        return node == NIL ? 0 : height(left[node]) - height(right[node]);
+    }
+
+    private int rotateRight(int y) {
+        int x = left[y];
+        left[y] = right[x];
+        right[x] = y;
+        updateHeight(y);
+        updateHeight(x);
+        return x;
+    }
+
+    private int rotateLeft(int x) {
+        int y = right[x];
+        right[x] = left[y];
+        left[y] = x;
+        updateHeight(x);
+        updateHeight(y);
+        return y;
+    }
+
+    private int balance(int node) {
+        updateHeight(node);
+        int balanceFactor = balanceFactor(node);
+
+        if (balanceFactor > 1) {
+            if (balanceFactor(left[node]) < 0) {
+                left[node] = rotateLeft(left[node]);
+            }
+            return rotateRight(node);
+        }
+        if (balanceFactor < -1) {
+            if (balanceFactor(right[node]) > 0) {
+                right[node] = rotateRight(right[node]);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    // Method to copy an object tree into array storage, preserving its shape
+    public static ArrayTree fromNodes(TreeNode root) {
+        ArrayTree tree = new ArrayTree();
+        if (root == null) {
+            return tree;
+        }
+        // Explicit stacks so that degenerate trees do not overflow the call stack
+        TreeNode[] nodeStack = new TreeNode[16];
+        int[] indexStack = new int[16];
+        int top = 0;
+        tree.root = tree.newNode(root.data);
+        nodeStack[top] = root;
+        indexStack[top++] = tree.root;
+
+        while (top > 0) {
+            TreeNode node = nodeStack[--top];
+            int index = indexStack[top];
+            if (top + 2 > nodeStack.length) {
+                nodeStack = Arrays.copyOf(nodeStack, nodeStack.length * 2);
+                indexStack = Arrays.copyOf(indexStack, indexStack.length * 2);
+            }
+            if (node.right != null) {
+                int child = tree.newNode(node.right.data);
+                tree.right[index] = child;
+                nodeStack[top] = node.right;
+                indexStack[top++] = child;
+            }
+            if (node.left != null) {
+                int child = tree.newNode(node.left.data);
+                tree.left[index] = child;
+                nodeStack[top] = node.left;
+                indexStack[top++] = child;
+            }
+        }
+        // TreeNode.height is only kept current by the AVL tree, so compute the heights here.
+        // Children are numbered after their parent, as in insertLevelOrder
+        for (int node = tree.size - 1; node >= 0; node--) {
+            tree.height[node] = 1 + Math.max(tree.height(tree.left[node]), tree.height(tree.right[node]));
+        }
+        return tree;
+    }
+}
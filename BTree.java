@@ -0,0 +1,200 @@
+package visualizer;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+
+// B-tree of int keys. Each node holds up to MAX_KEYS sorted keys in one int array plus the child
+// links between them, so a lookup reads a few contiguous cache lines per node and visits about
+// log_32 n nodes, where a binary tree chases one scattered object per level for log_2 n levels.
+//
+// Inserts split full nodes on the way down (top-down, as in CLRS), so a single pass from the root
+// suffices and a split never has to travel back up. Before splitting, an insert makes sure the key
+// is not already in the subtree below, so a duplicate leaves the shape and the version alone.
+final class BTree implements OrderedIntTree {
+    static final int MIN_DEGREE = 32; // Every node but the root has MIN_DEGREE - 1 .. MAX_KEYS keys
+    static final int MAX_KEYS = 2 * MIN_DEGREE - 1;
+
+    private static final class Node {
+        final int[] keys = new int[MAX_KEYS];
+        final Node[] children; // null for a leaf
+        int count;
+
+        Node(boolean leaf) {
+            children = leaf ? null : new Node[MAX_KEYS + 1];
+        }
+    }
+
+    private Node root = new Node(true);
+    private int size;
+    private int modCount;
+    private TreeNode view; // TreeNode copy made by root(), valid for viewVersion
+    private int viewVersion = -1;
+
+    @Override
+    public boolean insert(int key) {
+        if (root.count == MAX_KEYS) {
+            if (contains(root, key)) {
+                return false;
+            }
+            Node newRoot = new Node(false);
+            newRoot.children[0] = root;
+            root = newRoot;
+            splitChild(newRoot, 0);
+        }
+        Node node = root;
+        while (true) {
+            int index = Arrays.binarySearch(node.keys, 0, node.count, key);
+            if (index >= 0) {
+                return false; // Duplicate keys are ignored, as in BinarySearchTree
+            }
+            index = -index - 1;
+            if (node.children == null) {
+                System.arraycopy(node.keys, index, node.keys, index + 1, node.count - index);
+                node.keys[index] = key;
+                node.count++;
+                size++;
+                modCount++;
+                return true;
+            }
+            if (node.children[index].count == MAX_KEYS) {
+                if (contains(node.children[index], key)) {
+                    return false; // Duplicate keys are ignored, without splitting on the way
+                }
+                splitChild(node, index);
+                // The child's middle key moved up to keys[index]; pick the half that gets the key
+                if (key > node.keys[index]) {
+                    index++;
+                }
+            }
+            node = node.children[index];
+        }
+    }
+
+    // Splits the full child at index around its middle key, which moves up into parent
+    private void splitChild(Node parent, int index) {
+        Node child = parent.children[index];
+        Node sibling = new Node(child.children == null);
+        sibling.count = MIN_DEGREE - 1;
+        System.arraycopy(child.keys, MIN_DEGREE, sibling.keys, 0, MIN_DEGREE - 1);
+        if (child.children != null) {
+            System.arraycopy(child.children, MIN_DEGREE, sibling.children, 0, MIN_DEGREE);
+            Arrays.fill(child.children, MIN_DEGREE, MAX_KEYS + 1, null);
+        }
+        child.count = MIN_DEGREE - 1;
+
+        System.arraycopy(parent.children, index + 1, parent.children, index + 2, parent.count - index);
+        parent.children[index + 1] = sibling;
+        System.arraycopy(parent.keys, index, parent.keys, index + 1, parent.count - index);
+        parent.keys[index] = child.keys[MIN_DEGREE - 1];
+        parent.count++;
+    }
+
+    @Override
+    public boolean contains(int key) {
+        return contains(root, key);
+    }
+
+    private static boolean contains(Node node, int key) {
+        while (true) {
+            int index = Arrays.binarySearch(node.keys, 0, node.count, key);
+            if (index >= 0) {
+                return true;
+            }
+            if (node.children == null) {
+                return false;
+            }
+            node = node.children[-index - 1];
+        }
+    }
+
+    @Override
+    public OptionalInt floor(int key) {
+        Node node = root;
+        boolean found = false;
+        int best = 0;
+        while (node != null) {
+            int index = Arrays.binarySearch(node.keys, 0, node.count, key);
+            if (index >= 0) {
+                return OptionalInt.of(key);
+            }
+            index = -index - 1;
+            // Keys further down lie between keys[index - 1] and keys[index], so they are closer
+            if (index > 0) {
+                found = true;
+                best = node.keys[index - 1];
+            }
+            node = node.children == null ? null : node.children[index];
+        }
+        return found ? OptionalInt.of(best) : OptionalInt.empty();
+    }
+
+    @Override
+    public OptionalInt ceiling(int key) {
+        Node node = root;
+        boolean found = false;
+        int best = 0;
+        while (node != null) {
+            int index = Arrays.binarySearch(node.keys, 0, node.count, key);
+            if (index >= 0) {
+                return OptionalInt.of(key);
+            }
+            index = -index - 1;
+            if (index < node.count) {
+                found = true;
+                best = node.keys[index];
+            }
+            node = node.children == null ? null : node.children[index];
+        }
+        return found ? OptionalInt.of(best) : OptionalInt.empty();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void forEachAscending(IntConsumer visitor) {
+        forEachAscending(root, visitor);
+    }
+
+    private static void forEachAscending(Node node, IntConsumer visitor) {
+        for (int i = 0; i < node.count; i++) {
+            if (node.children != null) {
+                forEachAscending(node.children[i], visitor);
+            }
+            visitor.accept(node.keys[i]);
+        }
+        if (node.children != null) {
+            forEachAscending(node.children[node.count], visitor);
+        }
+    }
+
+    @Override
+    public int version() {
+        return modCount;
+    }
+
+    // Each B-tree node is drawn as a balanced binary tree of its keys with its children hanging
+    // below, i.e. a binary search tree with the same keys and the B-tree's levels as bands of
+    // about log2(MAX_KEYS) rows. Synchronized because the UI may ask from the FX thread and the worker
+    @Override
+    public synchronized TreeNode root() {
+        if (viewVersion != modCount) {
+            view = size == 0 ? null : copy(root, 0, root.count - 1);
+            viewVersion = modCount;
+        }
+        return view;
+    }
+
+    // Copies keys[lo .. hi] of a node together with children[lo .. hi + 1]
+    private static TreeNode copy(Node node, int lo, int hi) {
+        if (lo > hi) {
+            Node child = node.children == null ? null : node.children[lo];
+            return child == null ? null : copy(child, 0, child.count - 1);
+        }
+        int mid = (lo + hi) >>> 1;
+        return OrderedIntTree.viewNode(node.keys[mid], copy(node, lo, mid - 1), copy(node, mid + 1, hi));
+    }
+}
@@ -0,0 +1,357 @@
+package visualizer;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+// Binary Search Tree class, the AVL engine of OrderedIntTree
+class BinarySearchTree implements OrderedIntTree {
+    TreeNode root;
+    int modCount; // Incremented on every change, so that derived data (e.g. layouts) can be cached
+    private int statsDepth; // Insert path length and rotations of the current insert, when TreeStats is on
+    private int statsRotations;
+
+    public BinarySearchTree() {
+        root = null;
+    }
+
+    // Method to insert nodes in BST order and balance the tree (AVL balance).
+    // Returns false if the key was already present
+    @Override
+    public boolean insert(int key) {
+        int before = size();
+        Integer data = key;
+        if (TreeStats.ENABLED) {
+            TreeStats.InsertEvent event = TreeStats.beginInsert();
+            statsDepth = 0;
+            statsRotations = 0;
+            root = insertRecursive(root, data);
+            TreeStats.endInsert(event, key, statsDepth, statsRotations);
+        } else {
+            root = insertRecursive(root, data);
+        }
+        if (size() == before) {
+            return false;
+        }
+        modCount++;
+        return true;
+    }
+
+    private TreeNode insertRecursive(TreeNode root, Integer data) {
+        if (TreeStats.ENABLED) {
+            statsDepth++;
+        }
+        if (root == null) {
+            return new TreeNode(data);
+        }
+
+        // Insert data into the appropriate subtree
+        if (data < root.data) {
+            root.left = insertRecursive(root.left, data);
+        } else if (data > root.data) {
+            root.right = insertRecursive(root.right, data);
+        } else {
+            // Duplicate data insertion is not allowed in BST; handle as needed
+            return root;
+        }
+
+        // Update the height and size of this ancestor node and rebalance it
+        root = balance(root);
+
+        return root;
+    }
+
+    // Method to get the cached height of a node
+    private int height(TreeNode node) {
+        return node == null ? 0 : node.height;
+    }
+
+    // Method to recompute the cached height and subtree size of a node from its children
+    private void updateNode(TreeNode node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.size = 1 + OrderStatistics.size(node.left) + OrderStatistics.size(node.right);
+    }
+
+    // Method to get the balance factor of a node
+    private int balanceFactor(TreeNode node) {
+        if (node == null) {
+            return 0;
+        }
+        return height(node.left) - height(node.right);
+    }
+
+    // Method to perform right rotation
+    private TreeNode rotateRight(TreeNode y) {
+        if (TreeStats.ENABLED) {
+            statsRotations++;
+        }
+        TreeNode x = y.left;
+        TreeNode T2 = x.right;
+
+        // Perform rotation
+        x.right = y;
+        y.left = T2;
+
+        // Update heights and sizes, lower node first
+        updateNode(y);
+        updateNode(x);
+
+        return x;
+    }
+
+    // Method to perform left rotation
+    private TreeNode rotateLeft(TreeNode x) {
+        if (TreeStats.ENABLED) {
+            statsRotations++;
+        }
+        TreeNode y = x.right;
+        TreeNode T2 = y.left;
+
+        // Perform rotation
+        y.left = x;
+        x.right = T2;
+
+        // Update heights and sizes, lower node first
+        updateNode(x);
+        updateNode(y);
+
+        return y;
+    }
+
+    // Method to balance the AVL tree
+    private TreeNode balance(TreeNode node) {
+        updateNode(node);
+
+        // Check the balance factor of the current node
+        int balanceFactor = balanceFactor(node);
+
+        // If the node becomes unbalanced, perform rotations
+        if (balanceFactor > 1 && balanceFactor(node.left) >= 0) {
+            return rotateRight(node);
+        }
+        if (balanceFactor > 1 && balanceFactor(node.left) < 0) {
+            node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        if (balanceFactor < -1 && balanceFactor(node.right) <= 0) {
+            return rotateLeft(node);
+        }
+        if (balanceFactor < -1 && balanceFactor(node.right) > 0) {
+            node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
+
+        // Return the unchanged node if balanced
+        return node;
+    }
+
+    // Method to check whether a key is in the tree, in O(log n)
+    @Override
+    public boolean contains(int key) {
+        TreeNode node = root;
+        while (node != null) {
+            if (key == node.data) {
+                return true;
+            }
+            node = key < node.data ? node.left : node.right;
+        }
+        return false;
+    }
+
+    // Method to get the largest key <= the given key, if any
+    @Override
+    public OptionalInt floor(int key) {
+        TreeNode node = root;
+        TreeNode best = null;
+        while (node != null) {
+            if (node.data <= key) {
+                best = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return best == null ? OptionalInt.empty() : OptionalInt.of(best.data);
+    }
+
+    // Method to get the smallest key >= the given key, if any
+    @Override
+    public OptionalInt ceiling(int key) {
+        TreeNode node = root;
+        TreeNode best = null;
+        while (node != null) {
+            if (node.data >= key) {
+                best = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return best == null ? OptionalInt.empty() : OptionalInt.of(best.data);
+    }
+
+    // Method to copy the keys into an immutable, cache-friendly array layout for read-heavy use.
+    // Later changes to this tree do not affect the copy
+    public FrozenTree freeze() {
+        int[] sorted = new int[size()];
+        PrimitiveIterator.OfInt keys = range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = keys.nextInt();
+        }
+        return FrozenTree.fromSorted(sorted);
+    }
+
+    // Method to count the keys smaller than the given key, in O(log n)
+    public int rank(int key) {
+        return OrderStatistics.rank(root, key);
+    }
+
+    // Method to get the k-th smallest key (k = 0 is the minimum), in O(log n)
+    public int select(int k) {
+        return OrderStatistics.select(root, k);
+    }
+
+    // Method to count the keys in [lo, hi], in O(log n)
+    public int countRange(int lo, int hi) {
+        return OrderStatistics.countRange(root, lo, hi);
+    }
+
+    @Override
+    public int size() {
+        return OrderStatistics.size(root);
+    }
+
+    @Override
+    public void forEachAscending(IntConsumer visitor) {
+        PrimitiveIterator.OfInt keys = range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        while (keys.hasNext()) {
+            visitor.accept(keys.nextInt());
+        }
+    }
+
+    @Override
+    public int version() {
+        return modCount;
+    }
+
+    // The tree's own nodes, not a copy
+    @Override
+    public TreeNode root() {
+        return root;
+    }
+
+    // Method to iterate over the keys in [lo, hi] in ascending order, in O(log n + k)
+    public PrimitiveIterator.OfInt range(int lo, int hi) {
+        return RangeIterator.ascending(root, lo, hi);
+    }
+
+    // Method to iterate over the keys in [lo, hi] in descending order, in O(log n + k)
+    public PrimitiveIterator.OfInt descendingRange(int lo, int hi) {
+        return RangeIterator.descending(root, lo, hi);
+    }
+
+    // Method to insert a batch of keys. Small batches go in one by one; a batch that is large
+    // compared to the tree is sorted, merged with the tree's keys in O(n + m) and the whole tree is
+    // rebuilt perfectly balanced. Duplicates are ignored either way
+    @Override
+    public void insertAll(int[] keys) {
+        if (keys.length < MIN_REBUILD_BATCH || (long) keys.length * REBUILD_RATIO < size()) {
+            insertEach(keys);
+        } else {
+            mergeAndRebuild(keys);
+        }
+    }
+
+    // Below MIN_REBUILD_BATCH keys, or when the batch is under 1/REBUILD_RATIO of the tree, per-key
+    // inserts win. Measured with BatchInsertBenchmark: on 10K, 100K and 1M node trees the rebuild
+    // breaks even at roughly an eighth of the tree, and 1K keys still go in faster one by one
+    static final int MIN_REBUILD_BATCH = 1024;
+    static final int REBUILD_RATIO = 8;
+
+    // The two strategies of insertAll, package-private so that BatchInsertBenchmark can compare them
+    void insertEach(int[] keys) {
+        for (int key : keys) {
+            insert(key);
+        }
+    }
+
+    void mergeAndRebuild(int[] keys) {
+        int[] batch = keys.clone();
+        Arrays.sort(batch);
+        int batchSize = dedupeSorted(batch);
+
+        // Merge the ascending tree keys with the sorted batch, dropping keys that are in both
+        int[] merged = new int[size() + batchSize];
+        int count = 0;
+        int next = 0;
+        PrimitiveIterator.OfInt existing = range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        while (existing.hasNext()) {
+            int key = existing.nextInt();
+            while (next < batchSize && batch[next] < key) {
+                merged[count++] = batch[next++];
+            }
+            if (next < batchSize && batch[next] == key) {
+                next++;
+            }
+            merged[count++] = key;
+        }
+        while (next < batchSize) {
+            merged[count++] = batch[next++];
+        }
+        if (count == size()) {
+            return; // Every key was already present; keep the tree and its version, as insert() does
+        }
+
+        root = buildBalanced(merged, 0, count - 1);
+        modCount++;
+    }
+
+    // Method to build a perfectly balanced tree from a batch of keys in O(n)
+    // The keys are sorted first if needed and duplicates are dropped
+    public void bulkLoad(int[] keys) {
+        int[] sorted = keys;
+        if (!isStrictlyAscending(sorted)) {
+            sorted = keys.clone();
+            Arrays.sort(sorted);
+            sorted = Arrays.copyOf(sorted, dedupeSorted(sorted));
+        }
+        root = buildBalanced(sorted, 0, sorted.length - 1);
+        modCount++;
+    }
+
+    private TreeNode buildBalanced(int[] sorted, int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        TreeNode node = new TreeNode(sorted[mid]);
+        node.left = buildBalanced(sorted, lo, mid - 1);
+        node.right = buildBalanced(sorted, mid + 1, hi);
+        updateNode(node);
+        return node;
+    }
+
+    private static boolean isStrictlyAscending(int[] keys) {
+        for (int i = 1; i < keys.length; i++) {
+            if (keys[i - 1] >= keys[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Compacts a sorted array in place and returns the number of distinct keys
+    private static int dedupeSorted(int[] sorted) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int count = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[count - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,119 @@
+package visualizer;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+// Binary Tree class
+class BinaryTree {
+    TreeNode root;
+    int modCount; // Incremented on every change, so that derived data (e.g. layouts) can be cached
+
+    public BinaryTree() {
+        root = null;
+    }
+
+    // Method to insert nodes in level order: the k-th node gets the entries at 2k+1 and 2k+2 as its
+    // children, null entries are skipped (see LevelOrderIndex). Large inputs are built in parallel
+    public void insertLevelOrder(Integer[] nodes) {
+        modCount++;
+        if (nodes.length == 0) {
+            return;
+        }
+        TreeStats.LevelOrderBuildEvent event = TreeStats.ENABLED ? TreeStats.beginLevelOrderBuild() : null;
+        int count;
+        if (LevelOrderIndex.parallel(nodes.length)) {
+            // Create the nodes, then link them, each step split over the common pool
+            LevelOrderIndex index = LevelOrderIndex.of(nodes);
+            count = index.count;
+            TreeNode[] built = new TreeNode[count];
+            LevelOrderIndex.forEach(0, count, true, node -> built[node] = new TreeNode(nodes[index.position[node]]));
+            LevelOrderIndex.forEach(0, count, true, node -> {
+                int left = index.left[node];
+                int right = index.right[node];
+                built[node].left = left == ArrayTree.NIL ? null : built[left];
+                built[node].right = right == ArrayTree.NIL ? null : built[right];
+            });
+            root = count == 0 ? null : built[0];
+        } else {
+            // One pass; the nodes created so far, in level order, take the place of the queue
+            TreeNode[] built = new TreeNode[nodes[0] == null ? 0 : nodes.length];
+            count = built.length == 0 ? 0 : 1;
+            if (count > 0) {
+                built[0] = new TreeNode(nodes[0]);
+            }
+            for (int i = 1; i < built.length; i++) {
+                int parent = (i - 1) / 2;
+                if (parent >= count) {
+                    break; // No parent left, the queue would have run dry
+                }
+                if (nodes[i] != null) {
+                    TreeNode node = new TreeNode(nodes[i]);
+                    if ((i & 1) == 1) {
+                        built[parent].left = node;
+                    } else {
+                        built[parent].right = node;
+                    }
+                    built[count++] = node;
+                }
+            }
+            root = built.length == 0 ? null : built[0];
+        }
+        if (TreeStats.ENABLED) {
+            TreeStats.endLevelOrderBuild(event, count);
+        }
+    }
+
+    // Method to start an incremental level-order build for streamed input: the nodes passed to the
+    // returned sink produce the same shape as insertLevelOrder on the equivalent array, but only the
+    // nodes still waiting for children are queued
+    public TreeFileLoader.NodeSink levelOrderBuilder() {
+        root = null;
+        modCount++;
+        return new TreeFileLoader.NodeSink() {
+            private final Queue<TreeNode> queue = new ArrayDeque<>();
+            private boolean started;
+            private TreeNode currentNode; // Parent whose child slots are being filled
+            private boolean leftFilled;
+
+            @Override
+            public void node(int value) {
+                add(new TreeNode(value));
+            }
+
+            @Override
+            public void missing() {
+                add(null);
+            }
+
+            private void add(TreeNode node) {
+                modCount++;
+                if (!started) {
+                    // A missing root leaves the tree empty
+                    started = true;
+                    root = node;
+                    if (node != null) {
+                        queue.add(node);
+                    }
+                    return;
+                }
+                if (currentNode == null) {
+                    if (queue.isEmpty()) {
+                        return; // No parent left, as when insertLevelOrder's queue runs dry
+                    }
+                    currentNode = queue.poll();
+                    leftFilled = false;
+                }
+                if (!leftFilled) {
+                    currentNode.left = node;
+                    leftFilled = true;
+                } else {
+                    currentNode.right = node;
+                    currentNode = null;
+                }
+                if (node != null) {
+                    queue.add(node);
+                }
+            }
+        };
+    }
+}
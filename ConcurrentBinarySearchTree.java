@@ -0,0 +1,67 @@
+package visualizer;
+
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Thread-safe AVL binary search tree.
+//
+// The tree is immutable once published: writers build a new version with PathCopyingAvl (copying
+// only the O(log n) nodes on the insertion path) and install it with a compare-and-set on the
+// root, retrying against the newer root if another writer got there first. Readers take the
+// current root and search it without locks, so they never wait for writers or rebalancing and
+// always see one consistent version of the tree.
+class ConcurrentBinarySearchTree {
+    private final AtomicReference<TreeNode> root = new AtomicReference<>();
+
+    // Method to insert a key; returns false if it was already present
+    public boolean insert(int key) {
+        while (true) {
+            TreeNode current = root.get();
+            TreeNode updated = PathCopyingAvl.insert(current, key);
+            if (updated == current) {
+                return false;
+            }
+            if (root.compareAndSet(current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    // Method to check whether a key is present, lock-free
+    public boolean contains(int key) {
+        return PathCopyingAvl.contains(root.get(), key);
+    }
+
+    // Order-statistic queries; each one reads a single version, so its answer is consistent even
+    // while other threads insert
+    public int size() {
+        return OrderStatistics.size(root.get());
+    }
+
+    public int rank(int key) {
+        return OrderStatistics.rank(root.get(), key);
+    }
+
+    public int select(int k) {
+        return OrderStatistics.select(root.get(), k);
+    }
+
+    public int countRange(int lo, int hi) {
+        return OrderStatistics.countRange(root.get(), lo, hi);
+    }
+
+    // Range scans iterate over the version current when the scan starts
+    public PrimitiveIterator.OfInt range(int lo, int hi) {
+        return RangeIterator.ascending(root.get(), lo, hi);
+    }
+
+    public PrimitiveIterator.OfInt descendingRange(int lo, int hi) {
+        return RangeIterator.descending(root.get(), lo, hi);
+    }
+
+    // Method to get the current version of the tree. It is never modified afterwards, so it can be
+    // traversed while other threads keep inserting (with the stack-based modes, not Morris)
+    public TreeNode snapshot() {
+        return root.get();
+    }
+}
@@ -0,0 +1,112 @@
+package visualizer;
+
+import java.util.OptionalInt;
+
+// Immutable search tree over a sorted key set, stored as one int array in Eytzinger (BFS) order:
+// the root is at index 1 and the children of k are at 2k and 2k + 1, so no pointers are stored.
+// Made by BinarySearchTree.freeze() for read-heavy use.
+//
+// A lookup walks down k = 2k + (keys[k] < key), with the comparison turned into an add instead
+// of a branch, so there is nothing to mispredict. The top levels of every search share the first
+// few cache lines, which stay hot. Further down, the 16 descendants four levels below node k fill
+// keys[16k .. 16k + 15], a single cache line, so one early load of keys[16k] brings in whichever of
+// them the walk will reach. Java has no prefetch instruction, so each step issues that load itself;
+// it does not depend on the comparisons in between, so the CPU overlaps it with them and the walk
+// waits on about a quarter of the misses a pointer tree takes at every level.
+//
+// Once the walk falls off the tree, the bits of k record the path: a 1 for every step right. The
+// last step left ended at the smallest key >= the searched key (the ceiling); walking with <= instead
+// of <, the last step right ended at the largest key <= it (the floor). Stripping the trailing bits
+// of k finds either node without going back up.
+final class FrozenTree {
+    static final int MAX_SIZE = (1 << 30) - 1; // k goes up to 2 * size + 1, which must fit in an int
+
+    private final int[] keys; // keys[1 .. size]; keys[0] is unused
+    private final int size;
+    // Receives the prefetch loads only when their sum hits one value, which keeps the JIT from
+    // dropping them without a shared write on every lookup
+    private static int prefetched;
+
+    private FrozenTree(int[] keys, int size) {
+        this.keys = keys;
+        this.size = size;
+    }
+
+    // Method to build the layout from strictly ascending keys, in O(n)
+    public static FrozenTree fromSorted(int[] sorted) {
+        if (sorted.length > MAX_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_SIZE + " keys can be frozen");
+        }
+        int[] keys = new int[sorted.length + 1];
+        fill(sorted, keys, 0, 1);
+        return new FrozenTree(keys, sorted.length);
+    }
+
+    // Fills the subtree rooted at k in inorder from sorted[next ...]; returns the next unused key.
+    // Recursion depth is the tree height, at most 31
+    private static int fill(int[] sorted, int[] keys, int next, int k) {
+        if (k < keys.length) {
+            next = fill(sorted, keys, next, 2 * k);
+            keys[k] = sorted[next++];
+            next = fill(sorted, keys, next, 2 * k + 1);
+        }
+        return next;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Index of the smallest key >= key, or 0 if there is none
+    private int lowerBound(int key) {
+        int[] keys = this.keys;
+        int n = size;
+        int k = 1;
+        int touched = 0;
+        while (k <= n) {
+            // Prefetch four levels ahead; in long because k << 4 overflows from k = 2^27
+            touched += keys[(int) Math.min((long) k << 4, n)];
+            k = 2 * k + (keys[k] < key ? 1 : 0);
+        }
+        if (touched == Integer.MIN_VALUE) {
+            prefetched = touched; // Practically never runs, but makes the loads observable so they stay
+        }
+        // Drop the trailing right steps and the last left step
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    // Index of the largest key <= key, or 0 if there is none
+    private int upperBoundPredecessor(int key) {
+        int[] keys = this.keys;
+        int n = size;
+        int k = 1;
+        int touched = 0;
+        while (k <= n) {
+            touched += keys[(int) Math.min((long) k << 4, n)];
+            k = 2 * k + (keys[k] <= key ? 1 : 0);
+        }
+        if (touched == Integer.MIN_VALUE) {
+            prefetched = touched; // See lowerBound
+        }
+        // Drop the trailing left steps and the last right step
+        return k >>> (Integer.numberOfTrailingZeros(k) + 1);
+    }
+
+    // Method to check whether a key is present, in O(log n) with no data-dependent branches
+    public boolean contains(int key) {
+        int k = lowerBound(key);
+        return k != 0 && keys[k] == key;
+    }
+
+    // Method to get the largest key <= the given key, if any
+    public OptionalInt floor(int key) {
+        int k = upperBoundPredecessor(key);
+        return k == 0 ? OptionalInt.empty() : OptionalInt.of(keys[k]);
+    }
+
+    // Method to get the smallest key >= the given key, if any
+    public OptionalInt ceiling(int key) {
+        int k = lowerBound(key);
+        return k == 0 ? OptionalInt.empty() : OptionalInt.of(keys[k]);
+    }
+}
@@ -0,0 +1,16 @@
+package visualizer;
+
+// A tree whose nodes are int indices rather than objects, with ArrayTree.NIL for a missing child.
+// Implemented by the on-heap ArrayTree and the off-heap OffHeapTree, so TreeTraversal can walk
+// either one.
+interface IndexedTree {
+    int root();
+
+    int size();
+
+    int key(int node);
+
+    int left(int node);
+
+    int right(int node);
+}
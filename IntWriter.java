@@ -0,0 +1,80 @@
+package visualizer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.IntConsumer;
+
+// Writes ints as decimal lines to a stream through a 64 KB buffer, without a String per value, so
+// sequences of any length go out in fixed-size chunks. Used by the CLI and the UI's result export.
+// The writer owns the stream: close() flushes and then closes it
+final class IntWriter implements IntConsumer, AutoCloseable {
+    private final OutputStream out;
+    private final byte[] buffer = new byte[64 << 10];
+    private int position;
+    long count;
+
+    IntWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void accept(int value) {
+        if (position + 12 > buffer.length) {
+            flushBuffer();
+        }
+        long v = value;
+        if (v < 0) {
+            buffer[position++] = '-';
+            v = -v;
+        }
+        int end = position + digits(v);
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        position = end;
+        buffer[position++] = '\n';
+        count++;
+    }
+
+    private static int digits(long v) {
+        int digits = 1;
+        while (v >= 10) {
+            v /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    void flush() {
+        flushBuffer();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flushBuffer() {
+        try {
+            out.write(buffer, 0, position);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position = 0;
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            try {
+                out.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
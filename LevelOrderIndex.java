@@ -0,0 +1,112 @@
+package visualizer;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+// Shape of the tree that insertLevelOrder builds from a level-order array, worked out with index
+// arithmetic instead of a queue.
+//
+// The queue hands out child slots in input order: the k-th node it polls, which is the k-th
+// non-null entry, takes entries 2k+1 and 2k+2 as its children, and null entries take no slots. So
+// once every entry knows how many non-null entries precede it (a prefix count), each node's
+// children are two array lookups, independent of every other node. The queue runs dry at the first
+// entry whose parent slot k is not yet a node; that entry and everything after it is ignored.
+//
+// Nodes are numbered in level order, i.e. by their rank among the kept non-null entries, so a parent
+// always has a smaller number than its children. Above PARALLEL_THRESHOLD entries, when the common
+// fork/join pool has more than one thread, every step is a flat parallel loop over the entries or the
+// nodes. Otherwise one sequential pass numbers and links the nodes as it goes.
+final class LevelOrderIndex {
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    final int count; // Number of nodes; the arrays may be longer
+    final int[] position; // Node -> index of its entry in the input
+    final int[] left; // Node -> left child node, or ArrayTree.NIL
+    final int[] right;
+
+    private LevelOrderIndex(int count, int[] position, int[] left, int[] right) {
+        this.count = count;
+        this.position = position;
+        this.left = left;
+        this.right = right;
+    }
+
+    // Method to compute the shape of insertLevelOrder(nodes); a null root gives an empty tree
+    public static LevelOrderIndex of(Integer[] nodes) {
+        int length = nodes.length > 0 && nodes[0] != null ? nodes.length : 0;
+        return parallel(length) ? parallelIndex(nodes, length) : sequentialIndex(nodes, length);
+    }
+
+    // Whether a pass over this many entries is worth splitting over the common pool
+    static boolean parallel(int length) {
+        return length >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    private static LevelOrderIndex sequentialIndex(Integer[] nodes, int length) {
+        int[] position = new int[length];
+        int[] left = new int[length];
+        int[] right = new int[length];
+        Arrays.fill(left, ArrayTree.NIL);
+        Arrays.fill(right, ArrayTree.NIL);
+        int count = length == 0 ? 0 : 1;
+        for (int i = 1; i < length; i++) {
+            int parent = (i - 1) / 2;
+            if (parent >= count) {
+                break; // No parent left, the queue would have run dry
+            }
+            if (nodes[i] != null) {
+                position[count] = i;
+                if ((i & 1) == 1) {
+                    left[parent] = count;
+                } else {
+                    right[parent] = count;
+                }
+                count++;
+            }
+        }
+        return new LevelOrderIndex(count, position, left, right);
+    }
+
+    private static LevelOrderIndex parallelIndex(Integer[] nodes, int length) {
+        // before[i] = non-null entries in nodes[0 .. i)
+        int[] before = new int[length + 1];
+        forEach(1, length + 1, true, i -> before[i] = nodes[i - 1] != null ? 1 : 0);
+        Arrays.parallelPrefix(before, Integer::sum);
+
+        // Entry i (i >= 1) is a child slot of node (i - 1) / 2, which exists only if that many nodes
+        // came before the entry. The first entry without a parent ends the tree
+        int end = IntStream.range(1, length).parallel()
+                .filter(i -> (i - 1) / 2 >= before[i])
+                .findFirst()
+                .orElse(length);
+        int count = before[end];
+
+        int[] position = new int[count];
+        int[] left = new int[count];
+        int[] right = new int[count];
+        forEach(0, end, true, i -> {
+            if (nodes[i] != null) {
+                position[before[i]] = i;
+            }
+        });
+        forEach(0, count, true, k -> {
+            left[k] = child(nodes, before, end, 2L * k + 1);
+            right[k] = child(nodes, before, end, 2L * k + 2);
+        });
+        return new LevelOrderIndex(count, position, left, right);
+    }
+
+    // Node number of entry i, or NIL if the entry is missing or past the end of the tree
+    private static int child(Integer[] nodes, int[] before, int end, long i) {
+        return i < end && nodes[(int) i] != null ? before[(int) i] : ArrayTree.NIL;
+    }
+
+    // Runs action(i) for i in [from, to), on the common fork/join pool if parallel. Each index
+    // must touch only its own slots
+    static void forEach(int from, int to, boolean parallel, IntConsumer action) {
+        IntStream indices = IntStream.range(from, to);
+        (parallel ? indices.parallel() : indices).forEach(action);
+    }
+}
@@ -0,0 +1,293 @@
+package visualizer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// AVL search tree stored outside the Java heap, for key sets that do not fit in a reasonable heap
+// or that would make GC pauses long as TreeNode objects.
+//
+// Nodes are fixed-width 16-byte records (key, left, right, height) addressed by int index, with
+// ArrayTree.NIL for a missing child, exactly like ArrayTree but in ByteBuffers: the heap only holds
+// the buffer objects. Records live in chunks of CHUNK_NODES nodes (4 MB each), added as the tree
+// grows, so no single buffer hits the 2 GB limit and nothing is ever copied to grow.
+//
+// allocate() keeps the chunks in direct memory (bounded by -XX:MaxDirectMemorySize, which defaults
+// to the maximum heap size). open(file) maps them from a file instead, so the tree is paged in and
+// out by the OS and survives the process; reopening the file gives back the same tree.
+//
+// File layout (little-endian), chunks following the header back to back:
+//   long   magic "OFFHEAPT"
+//   int    format version
+//   int    bytes per node
+//   int    node count
+//   int    root node, or -1
+//   ...    reserved up to HEADER_BYTES
+//
+// Not thread-safe. A mapped file must not be opened by two trees at once.
+final class OffHeapTree implements IndexedTree, AutoCloseable {
+    static final long MAGIC = 0x545041454846464FL; // "OFFHEAPT" in file order
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int NODE_BYTES = 16;
+    private static final int KEY = 0;
+    private static final int LEFT = 4;
+    private static final int RIGHT = 8;
+    private static final int HEIGHT = 12;
+    private static final int CHUNK_SHIFT = 18;
+    static final int CHUNK_NODES = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_NODES - 1;
+    private static final long CHUNK_BYTES = (long) CHUNK_NODES * NODE_BYTES;
+
+    private final FileChannel channel; // null for direct memory
+    private final ByteBuffer header;
+    private ByteBuffer[] chunks = new ByteBuffer[4];
+    private int chunkCount;
+    private int size;
+    private int root = ArrayTree.NIL;
+    int modCount; // Incremented on every change, like the on-heap trees
+
+    private OffHeapTree(FileChannel channel, ByteBuffer header) {
+        this.channel = channel;
+        this.header = header;
+    }
+
+    // Method to create an empty tree in direct memory
+    public static OffHeapTree allocate() {
+        OffHeapTree tree = new OffHeapTree(null, ByteBuffer.allocateDirect(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN));
+        tree.writeHeader();
+        return tree;
+    }
+
+    // Method to open the tree stored in a file, creating an empty one if the file is new or empty
+    public static OffHeapTree open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() == 0;
+            if (!created && channel.size() < HEADER_BYTES) {
+                throw new IOException("Not an off-heap tree: file is too short");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            OffHeapTree tree = new OffHeapTree(channel, header);
+            if (created) {
+                tree.writeHeader();
+            } else {
+                tree.readHeader(channel.size());
+            }
+            return tree;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void writeHeader() {
+        header.putLong(0, MAGIC).putInt(8, VERSION).putInt(12, NODE_BYTES).putInt(16, size).putInt(20, root);
+    }
+
+    private void readHeader(long fileSize) throws IOException {
+        if (header.getLong(0) != MAGIC) {
+            throw new IOException("Not an off-heap tree: bad magic number");
+        }
+        if (header.getInt(8) != VERSION || header.getInt(12) != NODE_BYTES) {
+            throw new IOException("Unsupported off-heap tree version " + header.getInt(8));
+        }
+        size = header.getInt(16);
+        root = header.getInt(20);
+        int chunksNeeded = (int) ((size + (long) CHUNK_MASK) >>> CHUNK_SHIFT);
+        // Chunks are mapped whole, so the file always ends on a chunk boundary
+        if (size < 0 || root < ArrayTree.NIL || root >= size || (size == 0) != (root == ArrayTree.NIL)
+                || fileSize < HEADER_BYTES + chunksNeeded * CHUNK_BYTES) {
+            throw new IOException("Corrupt off-heap tree: header does not match file size");
+        }
+        for (int chunk = 0; chunk < chunksNeeded; chunk++) {
+            addChunk();
+        }
+    }
+
+    // Maps or allocates the next chunk; mapping past the end of the file extends it
+    private void addChunk() throws IOException {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        ByteBuffer chunk = channel == null
+                ? ByteBuffer.allocateDirect((int) CHUNK_BYTES)
+                : channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + chunkCount * CHUNK_BYTES, CHUNK_BYTES);
+        chunks[chunkCount++] = chunk.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public int root() {
+        return root;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int key(int node) {
+        return chunks[node >>> CHUNK_SHIFT].getInt(offset(node) + KEY);
+    }
+
+    @Override
+    public int left(int node) {
+        return chunks[node >>> CHUNK_SHIFT].getInt(offset(node) + LEFT);
+    }
+
+    @Override
+    public int right(int node) {
+        return chunks[node >>> CHUNK_SHIFT].getInt(offset(node) + RIGHT);
+    }
+
+    private static int offset(int node) {
+        return (node & CHUNK_MASK) * NODE_BYTES;
+    }
+
+    private void setLeft(int node, int child) {
+        chunks[node >>> CHUNK_SHIFT].putInt(offset(node) + LEFT, child);
+    }
+
+    private void setRight(int node, int child) {
+        chunks[node >>> CHUNK_SHIFT].putInt(offset(node) + RIGHT, child);
+    }
+
+    private int height(int node) {
+        return node == ArrayTree.NIL ? 0 : chunks[node >>> CHUNK_SHIFT].getInt(offset(node) + HEIGHT);
+    }
+
+    private void updateHeight(int node) {
+        chunks[node >>> CHUNK_SHIFT].putInt(offset(node) + HEIGHT, 1 + Math.max(height(left(node)), height(right(node))));
+    }
+
+    private int newNode(int key) {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Off-heap tree is full");
+        }
+        if (size >>> CHUNK_SHIFT == chunkCount) {
+            try {
+                addChunk();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        int node = size++;
+        chunks[node >>> CHUNK_SHIFT].putInt(offset(node) + KEY, key).putInt(offset(node) + LEFT, ArrayTree.NIL)
+                .putInt(offset(node) + RIGHT, ArrayTree.NIL).putInt(offset(node) + HEIGHT, 1);
+        return node;
+    }
+
+    // Method to insert a key in BST order and keep the tree AVL balanced, like BinarySearchTree.insert.
+    // Returns false if the key was already present
+    public boolean insert(int key) {
+        int before = size;
+        root = insertRecursive(root, key);
+        if (size == before) {
+            return false;
+        }
+        modCount++;
+        header.putInt(16, size).putInt(20, root);
+        return true;
+    }
+
+    private int insertRecursive(int node, int key) {
+        if (node == ArrayTree.NIL) {
+            return newNode(key);
+        }
+        int nodeKey = key(node);
+        if (key < nodeKey) {
+            setLeft(node, insertRecursive(left(node), key));
+        } else if (key > nodeKey) {
+            setRight(node, insertRecursive(right(node), key));
+        } else {
+            // Duplicate keys are ignored, as in BinarySearchTree
+            return node;
+        }
+        return balance(node);
+    }
+
+    private int balanceFactor(int node) {
+        return node == ArrayTree.NIL ? 0 : height(left(node)) - height(right(node));
+    }
+
+    private int rotateRight(int y) {
+        int x = left(y);
+        setLeft(y, right(x));
+        setRight(x, y);
+        updateHeight(y);
+        updateHeight(x);
+        return x;
+    }
+
+    private int rotateLeft(int x) {
+        int y = right(x);
+        setRight(x, left(y));
+        setLeft(y, x);
+        updateHeight(x);
+        updateHeight(y);
+        return y;
+    }
+
+    private int balance(int node) {
+        updateHeight(node);
+        int balanceFactor = balanceFactor(node);
+
+        if (balanceFactor > 1) {
+            if (balanceFactor(left(node)) < 0) {
+                setLeft(node, rotateLeft(left(node)));
+            }
+            return rotateRight(node);
+        }
+        if (balanceFactor < -1) {
+            if (balanceFactor(right(node)) > 0) {
+                setRight(node, rotateRight(right(node)));
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    // Method to check whether a key is in the tree, in O(log n)
+    public boolean contains(int key) {
+        int node = root;
+        while (node != ArrayTree.NIL) {
+            int nodeKey = key(node);
+            if (key == nodeKey) {
+                return true;
+            }
+            node = key < nodeKey ? left(node) : right(node);
+        }
+        return false;
+    }
+
+    // Method to write a file-backed tree through to disk; a no-op in direct memory
+    public void force() {
+        if (channel != null) {
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                ((MappedByteBuffer) chunks[chunk]).force();
+            }
+            ((MappedByteBuffer) header).force();
+        }
+    }
+
+    // Method to flush a file-backed tree and release the file. The memory itself is returned once
+    // the buffers are garbage collected; the tree must not be used afterwards
+    @Override
+    public void close() throws IOException {
+        force();
+        chunks = new ByteBuffer[0];
+        chunkCount = 0;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package visualizer;
+
+// Order-statistic queries on binary search trees whose nodes carry subtree sizes (TreeNode.size),
+// as maintained by BinarySearchTree, ConcurrentBinarySearchTree and PersistentBinarySearchTree.
+// Each query follows a single root-to-leaf path, so it runs in O(height), i.e. O(log n) for AVL trees.
+final class OrderStatistics {
+
+    private OrderStatistics() {
+    }
+
+    static int size(TreeNode node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // Method to count the keys smaller than the given key
+    static int rank(TreeNode node, int key) {
+        int rank = 0;
+        while (node != null) {
+            if (key <= node.data) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    // Method to count the keys smaller than or equal to the given key
+    static int rankInclusive(TreeNode node, int key) {
+        int rank = 0;
+        while (node != null) {
+            if (key < node.data) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    // Method to get the k-th smallest key, counting from 0
+    static int select(TreeNode node, int k) {
+        if (k < 0 || k >= size(node)) {
+            throw new IndexOutOfBoundsException("Index " + k + " out of bounds for size " + size(node));
+        }
+        while (true) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                return node.data;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // Method to count the keys in [lo, hi]; an empty range counts 0
+    static int countRange(TreeNode node, int lo, int hi) {
+        return lo > hi ? 0 : rankInclusive(node, hi) - rank(node, lo);
+    }
+}
@@ -0,0 +1,89 @@
+package visualizer;
+
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+// A mutable ordered set of int keys backed by a balanced search tree. The UI, TreeCli and
+// the benchmarks program against this interface, so the balancing scheme is a choice of Engine.
+//
+// The traversals, views and the layout work on TreeNode graphs, which root() provides: the AVL
+// engine hands out its own nodes, the others build a TreeNode copy of their structure on demand.
+// Inorder is the ascending key order for every engine; the other traversal orders show each
+// engine's own shape.
+interface OrderedIntTree {
+
+    // Method to insert a key; returns false if it was already present
+    boolean insert(int key);
+
+    boolean contains(int key);
+
+    // Method to get the largest key <= the given key, if any
+    OptionalInt floor(int key);
+
+    // Method to get the smallest key >= the given key, if any
+    OptionalInt ceiling(int key);
+
+    int size();
+
+    // Method to visit every key in ascending order
+    void forEachAscending(IntConsumer visitor);
+
+    // Incremented on every change, so that derived data (layouts, traversal results) can be cached
+    int version();
+
+    // Method to get the tree as TreeNodes with heights and subtree sizes filled in. Must be
+    // treated as read-only; it stays valid until the next change
+    TreeNode root();
+
+    // Method to insert a batch of keys; engines with a faster bulk path override it
+    default void insertAll(int[] keys) {
+        for (int key : keys) {
+            insert(key);
+        }
+    }
+
+    // Method to copy the keys into an ascending array
+    default int[] toSortedArray() {
+        int[] keys = new int[size()];
+        int[] count = new int[1];
+        forEachAscending(key -> keys[count[0]++] = key);
+        return keys;
+    }
+
+    // Method to make a view node, for engines whose root() is a copy
+    static TreeNode viewNode(int key, TreeNode left, TreeNode right) {
+        TreeNode node = new TreeNode(key);
+        node.left = left;
+        node.right = right;
+        node.height = 1 + Math.max(left == null ? 0 : left.height, right == null ? 0 : right.height);
+        node.size = 1 + OrderStatistics.size(left) + OrderStatistics.size(right);
+        return node;
+    }
+
+    // The available balancing schemes. AVL keeps the tightest height and so the shortest lookups;
+    // red-black rotates less per insert; the B-tree keeps many keys per node in an int array, so a
+    // lookup touches a few contiguous nodes instead of one scattered object per level
+    enum Engine {
+        AVL("AVL", BinarySearchTree::new),
+        RED_BLACK("Red-black", RedBlackTree::new),
+        B_TREE("B-tree", BTree::new);
+
+        final String label;
+        private final Supplier<OrderedIntTree> factory;
+
+        Engine(String label, Supplier<OrderedIntTree> factory) {
+            this.label = label;
+            this.factory = factory;
+        }
+
+        OrderedIntTree create() {
+            return factory.get();
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+}
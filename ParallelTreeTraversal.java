@@ -0,0 +1,310 @@
+package visualizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+// Multi-threaded passes over TreeNode graphs: IntStreams whose spliterators split at subtree
+// boundaries, and fork/join traversals that process the left and right subtrees in parallel.
+// The tree must not be modified while a pass is running.
+final class ParallelTreeTraversal {
+
+    private ParallelTreeTraversal() {
+    }
+
+    // Method to stream the values of a tree in the given order. Inorder, preorder and postorder
+    // streams split at subtree boundaries; level order is streamed sequentially
+    public static IntStream stream(TreeNode root, TraversalOrder order, boolean parallel) {
+        return StreamSupport.intStream(new SubtreeSpliterator(root, order), parallel);
+    }
+
+    // Method to visit every value on the common fork/join pool. The visitor is called concurrently
+    // from several threads and in no particular order, so it must be thread-safe
+    public static void forEach(TreeNode root, IntConsumer visitor) {
+        if (root != null) {
+            ForkJoinPool.commonPool().invoke(new ForEachTask(root, visitor, forkDepth()));
+        }
+    }
+
+    // Method to collect the values in traversal order, traversing independent subtrees in parallel.
+    // Level order has no subtree decomposition and is collected sequentially
+    public static int[] toArray(TreeNode root, TraversalOrder order) {
+        if (root == null) {
+            return new int[0];
+        }
+        if (order == TraversalOrder.LEVEL_ORDER) {
+            IntStream.Builder values = IntStream.builder();
+            new TreeTraversal().levelOrder(root, values::add);
+            return values.build().toArray();
+        }
+        List<int[]> chunks = ForkJoinPool.commonPool().invoke(new CollectTask(root, order, forkDepth()));
+        int length = 0;
+        for (int[] chunk : chunks) {
+            length += chunk.length;
+        }
+        int[] result = new int[length];
+        int offset = 0;
+        for (int[] chunk : chunks) {
+            System.arraycopy(chunk, 0, result, offset, chunk.length);
+            offset += chunk.length;
+        }
+        return result;
+    }
+
+    // Method to add up all values in parallel
+    public static long sum(TreeNode root) {
+        return root == null ? 0 : ForkJoinPool.commonPool().invoke(new SumTask(root, forkDepth()));
+    }
+
+    // Tasks keep forking for this many levels, i.e. into up to 2^depth subtrees: 4 to 8 per worker,
+    // 8 when the parallelism is a power of two
+    private static int forkDepth() {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        return 32 - Integer.numberOfLeadingZeros(Math.max(parallelism, 1)) + 2;
+    }
+
+    private static final class ForEachTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final TreeNode node;
+        private final IntConsumer visitor;
+        private final int depth;
+
+        ForEachTask(TreeNode node, IntConsumer visitor, int depth) {
+            this.node = node;
+            this.visitor = visitor;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (depth == 0) {
+                new TreeTraversal().preorder(node, visitor);
+                return;
+            }
+            visitor.accept(node.data);
+            ForEachTask leftTask = node.left == null ? null : new ForEachTask(node.left, visitor, depth - 1);
+            ForEachTask rightTask = node.right == null ? null : new ForEachTask(node.right, visitor, depth - 1);
+            if (leftTask != null && rightTask != null) {
+                invokeAll(leftTask, rightTask);
+            } else if (leftTask != null) {
+                leftTask.compute();
+            } else if (rightTask != null) {
+                rightTask.compute();
+            }
+        }
+    }
+
+    private static final class SumTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final TreeNode node;
+        private final int depth;
+
+        SumTask(TreeNode node, int depth) {
+            this.node = node;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            if (depth == 0) {
+                long[] sum = new long[1];
+                new TreeTraversal().preorder(node, value -> sum[0] += value);
+                return sum[0];
+            }
+            long sum = node.data;
+            SumTask rightTask = null;
+            if (node.right != null) {
+                rightTask = new SumTask(node.right, depth - 1);
+                rightTask.fork();
+            }
+            if (node.left != null) {
+                sum += new SumTask(node.left, depth - 1).compute();
+            }
+            if (rightTask != null) {
+                sum += rightTask.join();
+            }
+            return sum;
+        }
+    }
+
+    // Returns the subtree's values as an ordered list of chunks, so that concatenating the
+    // chunks copies every value only once
+    private static final class CollectTask extends RecursiveTask<List<int[]>> {
+        private static final long serialVersionUID = 1L;
+
+        private final TreeNode node;
+        private final TraversalOrder order;
+        private final int depth;
+
+        CollectTask(TreeNode node, TraversalOrder order, int depth) {
+            this.node = node;
+            this.order = order;
+            this.depth = depth;
+        }
+
+        @Override
+        protected List<int[]> compute() {
+            List<int[]> chunks = new ArrayList<>();
+            if (depth == 0) {
+                IntStream.Builder values = IntStream.builder();
+                new TreeTraversal().traverse(node, order, values::add);
+                chunks.add(values.build().toArray());
+                return chunks;
+            }
+            CollectTask rightTask = null;
+            if (node.right != null) {
+                rightTask = new CollectTask(node.right, order, depth - 1);
+                rightTask.fork();
+            }
+            List<int[]> leftChunks = node.left == null
+                    ? new ArrayList<>()
+                    : new CollectTask(node.left, order, depth - 1).compute();
+            List<int[]> rightChunks = rightTask == null ? new ArrayList<>() : rightTask.join();
+            int[] self = {node.data};
+
+            switch (order) {
+                case PREORDER:
+                    chunks.add(self);
+                    chunks.addAll(leftChunks);
+                    chunks.addAll(rightChunks);
+                    break;
+                case POSTORDER:
+                    chunks.addAll(leftChunks);
+                    chunks.addAll(rightChunks);
+                    chunks.add(self);
+                    break;
+                default:
+                    chunks.addAll(leftChunks);
+                    chunks.add(self);
+                    chunks.addAll(rightChunks);
+                    break;
+            }
+            return chunks;
+        }
+    }
+
+    // Spliterator over the sequence: prefix values, then the traversal of one subtree, then suffix values.
+    // Splitting peels the left subtree (with the prefix) off as the returned prefix spliterator; the
+    // node's own value moves to whichever side the traversal order puts it on
+    static final class SubtreeSpliterator implements Spliterator.OfInt {
+        private final TraversalOrder order;
+        private int[] prefix;
+        private TreeNode subtree;
+        private int[] suffix;
+        private long estimate;
+        private int prefixIndex;
+        private PrimitiveIterator.OfInt subtreeIterator; // Non-null once traversal has started
+        private int suffixIndex;
+
+        SubtreeSpliterator(TreeNode root, TraversalOrder order) {
+            this(new int[0], root, new int[0], order, Long.MAX_VALUE);
+        }
+
+        private SubtreeSpliterator(int[] prefix, TreeNode subtree, int[] suffix, TraversalOrder order, long estimate) {
+            this.prefix = prefix;
+            this.subtree = subtree;
+            this.suffix = suffix;
+            this.order = order;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            if (subtree == null || subtreeIterator != null || prefixIndex > 0
+                    || order == TraversalOrder.LEVEL_ORDER) {
+                return null;
+            }
+            TreeNode node = subtree;
+            int[] leftPrefix = prefix;
+            int[] leftSuffix = new int[0];
+            switch (order) {
+                case PREORDER:
+                    // node, left | right
+                    leftPrefix = append(prefix, node.data);
+                    prefix = new int[0];
+                    break;
+                case POSTORDER:
+                    // left | right, node
+                    prefix = new int[0];
+                    suffix = prepend(node.data, suffix);
+                    break;
+                default:
+                    // left | node, right
+                    prefix = new int[] {node.data};
+                    break;
+            }
+            subtree = node.right;
+            estimate >>>= 1;
+            return new SubtreeSpliterator(leftPrefix, node.left, leftSuffix, order, estimate);
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (prefixIndex < prefix.length) {
+                action.accept(prefix[prefixIndex++]);
+                return true;
+            }
+            if (subtreeIterator == null) {
+                subtreeIterator = TreeTraversal.iterator(subtree, order);
+            }
+            if (subtreeIterator.hasNext()) {
+                action.accept(subtreeIterator.nextInt());
+                return true;
+            }
+            if (suffixIndex < suffix.length) {
+                action.accept(suffix[suffixIndex++]);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (prefixIndex < prefix.length) {
+                action.accept(prefix[prefixIndex++]);
+            }
+            if (subtreeIterator == null) {
+                new TreeTraversal().traverse(subtree, order, action);
+                subtreeIterator = TreeTraversal.iterator(null, order);
+            } else {
+                subtreeIterator.forEachRemaining(action);
+            }
+            while (suffixIndex < suffix.length) {
+                action.accept(suffix[suffixIndex++]);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+
+        private static int[] append(int[] values, int value) {
+            int[] result = Arrays.copyOf(values, values.length + 1);
+            result[values.length] = value;
+            return result;
+        }
+
+        private static int[] prepend(int value, int[] values) {
+            int[] result = new int[values.length + 1];
+            result[0] = value;
+            System.arraycopy(values, 0, result, 1, values.length);
+            return result;
+        }
+    }
+}
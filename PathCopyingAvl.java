@@ -0,0 +1,79 @@
+package visualizer;
+
+// AVL insertion that never modifies an existing node. The nodes on the search path, and the ones
+// a rotation would rewire, are copied instead; everything else is shared with the old tree. The
+// old root therefore stays a valid, unchanged tree, which is what lock-free readers and versioned
+// trees rely on. Such shared trees must not be walked with Morris traversal, which rewires nodes
+// temporarily.
+final class PathCopyingAvl {
+
+    private PathCopyingAvl() {
+    }
+
+    // Method to insert a key and return the new root, or the given root itself if the key is present
+    static TreeNode insert(TreeNode node, int key) {
+        if (node == null) {
+            return new TreeNode(key);
+        }
+        if (key < node.data) {
+            TreeNode left = insert(node.left, key);
+            return left == node.left ? node : balanced(node.data, left, node.right);
+        }
+        if (key > node.data) {
+            TreeNode right = insert(node.right, key);
+            return right == node.right ? node : balanced(node.data, node.left, right);
+        }
+        return node;
+    }
+
+    // Method to check whether a key is present
+    static boolean contains(TreeNode node, int key) {
+        while (node != null) {
+            int data = node.data;
+            if (key == data) {
+                return true;
+            }
+            node = key < data ? node.left : node.right;
+        }
+        return false;
+    }
+
+    // New node with the given children, rotated if the children's heights differ by two. Keys are
+    // passed boxed so that a copy shares its original's Integer instead of allocating another
+    private static TreeNode balanced(Integer key, TreeNode left, TreeNode right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                // Single right rotation
+                return node(left.data, left.left, node(key, left.right, right));
+            }
+            // Left-right double rotation
+            TreeNode pivot = left.right;
+            return node(pivot.data, node(left.data, left.left, pivot.left), node(key, pivot.right, right));
+        }
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                // Single left rotation
+                return node(right.data, node(key, left, right.left), right.right);
+            }
+            // Right-left double rotation
+            TreeNode pivot = right.left;
+            return node(pivot.data, node(key, left, pivot.left), node(right.data, pivot.right, right.right));
+        }
+        return node(key, left, right);
+    }
+
+    private static TreeNode node(Integer key, TreeNode left, TreeNode right) {
+        TreeNode node = new TreeNode(key);
+        node.left = left;
+        node.right = right;
+        node.height = 1 + Math.max(height(left), height(right));
+        node.size = 1 + OrderStatistics.size(left) + OrderStatistics.size(right);
+        return node;
+    }
+
+    private static int height(TreeNode node) {
+        return node == null ? 0 : node.height;
+    }
+}
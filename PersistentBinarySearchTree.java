@@ -0,0 +1,121 @@
+package visualizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+// Immutable AVL binary search tree. insert() returns a new version and leaves this one untouched;
+// the two share every subtree the insertion did not pass through, so a version costs O(log n) new
+// nodes (see PathCopyingAvl). A version can be traversed, laid out or animated while newer
+// versions are being built, as long as nothing walks it with Morris traversal.
+final class PersistentBinarySearchTree {
+    static final PersistentBinarySearchTree EMPTY = new PersistentBinarySearchTree(null);
+
+    final TreeNode root; // Never modified
+
+    private PersistentBinarySearchTree(TreeNode root) {
+        this.root = root;
+    }
+
+    // Method to turn a BinarySearchTree into a version. The nodes are adopted, not copied, so the
+    // BinarySearchTree must not be modified afterwards
+    static PersistentBinarySearchTree of(BinarySearchTree tree) {
+        return tree.root == null ? EMPTY : new PersistentBinarySearchTree(tree.root);
+    }
+
+    // Method to get the version with the key added; returns this version if the key is present
+    public PersistentBinarySearchTree insert(int key) {
+        TreeNode updated = PathCopyingAvl.insert(root, key);
+        return updated == root ? this : new PersistentBinarySearchTree(updated);
+    }
+
+    // Method to get the version with all keys added, without keeping the intermediate versions
+    public PersistentBinarySearchTree insertAll(int[] keys) {
+        TreeNode updated = root;
+        for (int key : keys) {
+            updated = PathCopyingAvl.insert(updated, key);
+        }
+        return updated == root ? this : new PersistentBinarySearchTree(updated);
+    }
+
+    public boolean contains(int key) {
+        return PathCopyingAvl.contains(root, key);
+    }
+
+    public int size() {
+        return OrderStatistics.size(root);
+    }
+
+    public int rank(int key) {
+        return OrderStatistics.rank(root, key);
+    }
+
+    public int select(int k) {
+        return OrderStatistics.select(root, k);
+    }
+
+    public int countRange(int lo, int hi) {
+        return OrderStatistics.countRange(root, lo, hi);
+    }
+
+    public PrimitiveIterator.OfInt range(int lo, int hi) {
+        return RangeIterator.ascending(root, lo, hi);
+    }
+
+    public PrimitiveIterator.OfInt descendingRange(int lo, int hi) {
+        return RangeIterator.descending(root, lo, hi);
+    }
+
+    // Linear undo/redo history of versions. Versions share structure, so keeping all of them costs
+    // only the nodes each insert created, and moving through the history copies nothing
+    static final class History {
+        private final List<PersistentBinarySearchTree> versions = new ArrayList<>();
+        private int current;
+
+        History() {
+            versions.add(EMPTY);
+        }
+
+        PersistentBinarySearchTree current() {
+            return versions.get(current);
+        }
+
+        // Method to make a new version current, discarding the versions that could be redone
+        void push(PersistentBinarySearchTree version) {
+            versions.subList(current + 1, versions.size()).clear();
+            versions.add(version);
+            current++;
+        }
+
+        boolean canUndo() {
+            return current > 0;
+        }
+
+        boolean canRedo() {
+            return current < versions.size() - 1;
+        }
+
+        PersistentBinarySearchTree undo() {
+            if (!canUndo()) {
+                throw new IllegalStateException("Nothing to undo");
+            }
+            return versions.get(--current);
+        }
+
+        PersistentBinarySearchTree redo() {
+            if (!canRedo()) {
+                throw new IllegalStateException("Nothing to redo");
+            }
+            return versions.get(++current);
+        }
+
+        // Position of the current version, 0 being the empty tree
+        int position() {
+            return current;
+        }
+
+        int size() {
+            return versions.size();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package visualizer;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// Lazy in-order scan of the keys of a binary search tree that fall within [lo, hi], ascending or
+// descending. The iterator descends straight to the first key in range and keeps only the pending
+// ancestors on its stack, so a scan that yields k keys touches O(height + k) nodes and stopping
+// early costs nothing. The tree must not be modified while a scan is in progress.
+final class RangeIterator implements PrimitiveIterator.OfInt {
+    private final int lo;
+    private final int hi;
+    private final boolean descending;
+    private TreeNode[] stack = new TreeNode[32];
+    private int top;
+
+    private RangeIterator(TreeNode root, int lo, int hi, boolean descending) {
+        this.lo = lo;
+        this.hi = hi;
+        this.descending = descending;
+        pushPath(root);
+    }
+
+    // Method to scan the keys in [lo, hi] in ascending order
+    static RangeIterator ascending(TreeNode root, int lo, int hi) {
+        return new RangeIterator(root, lo, hi, false);
+    }
+
+    // Method to scan the keys in [lo, hi] in descending order, starting at hi
+    static RangeIterator descending(TreeNode root, int lo, int hi) {
+        return new RangeIterator(root, lo, hi, true);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (top == 0) {
+            return false;
+        }
+        int next = stack[top - 1].data;
+        return descending ? next >= lo : next <= hi;
+    }
+
+    @Override
+    public int nextInt() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        TreeNode node = stack[--top];
+        stack[top] = null;
+        pushPath(descending ? node.left : node.right);
+        return node.data;
+    }
+
+    // Pushes the nodes at which the scan will have to come back, walking down towards the start
+    // of the range: ascending scans stack the nodes >= lo and skip subtrees below lo, descending
+    // scans stack the nodes <= hi and skip subtrees above hi
+    private void pushPath(TreeNode node) {
+        while (node != null) {
+            int data = node.data;
+            if (descending ? data <= hi : data >= lo) {
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top * 2);
+                }
+                stack[top++] = node;
+                node = descending ? node.right : node.left;
+            } else {
+                node = descending ? node.left : node.right;
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package visualizer;
+
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+
+// Left-leaning red-black tree (the binary form of a 2-3 tree): a red link glues a node to its
+// parent as one 3-node, red links lean left and no path has two in a row. Height stays within
+// 2 log n, looser than AVL, but an insert fixes things up with at most a couple of rotations and
+// colour flips per level and needs no heights, so the nodes are smaller.
+final class RedBlackTree implements OrderedIntTree {
+
+    private static final class Node {
+        final int key;
+        Node left, right;
+        boolean red = true; // Colour of the link from the parent; new nodes join as red
+
+        Node(int key) {
+            this.key = key;
+        }
+    }
+
+    private Node root;
+    private int size;
+    private int modCount;
+    private TreeNode view; // TreeNode copy made by root(), valid for viewVersion
+    private int viewVersion = -1;
+
+    @Override
+    public boolean insert(int key) {
+        int before = size;
+        root = insert(root, key);
+        root.red = false;
+        if (size == before) {
+            return false;
+        }
+        modCount++;
+        return true;
+    }
+
+    private Node insert(Node node, int key) {
+        if (node == null) {
+            size++;
+            return new Node(key);
+        }
+        if (key < node.key) {
+            node.left = insert(node.left, key);
+        } else if (key > node.key) {
+            node.right = insert(node.right, key);
+        } else {
+            return node; // Duplicate keys are ignored, as in BinarySearchTree
+        }
+
+        // Restore the invariants on the way back up
+        if (isRed(node.right) && !isRed(node.left)) {
+            node = rotateLeft(node);
+        }
+        if (isRed(node.left) && isRed(node.left.left)) {
+            node = rotateRight(node);
+        }
+        if (isRed(node.left) && isRed(node.right)) {
+            flipColors(node);
+        }
+        return node;
+    }
+
+    private static boolean isRed(Node node) {
+        return node != null && node.red;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node x = node.right;
+        node.right = x.left;
+        x.left = node;
+        x.red = node.red;
+        node.red = true;
+        return x;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node x = node.left;
+        node.left = x.right;
+        x.right = node;
+        x.red = node.red;
+        node.red = true;
+        return x;
+    }
+
+    // Splits a temporary 4-node: both children turn black and the node joins its parent
+    private static void flipColors(Node node) {
+        node.red = true;
+        node.left.red = false;
+        node.right.red = false;
+    }
+
+    @Override
+    public boolean contains(int key) {
+        Node node = root;
+        while (node != null) {
+            if (key == node.key) {
+                return true;
+            }
+            node = key < node.key ? node.left : node.right;
+        }
+        return false;
+    }
+
+    @Override
+    public OptionalInt floor(int key) {
+        Node node = root;
+        Node best = null;
+        while (node != null) {
+            if (node.key <= key) {
+                best = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return best == null ? OptionalInt.empty() : OptionalInt.of(best.key);
+    }
+
+    @Override
+    public OptionalInt ceiling(int key) {
+        Node node = root;
+        Node best = null;
+        while (node != null) {
+            if (node.key >= key) {
+                best = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return best == null ? OptionalInt.empty() : OptionalInt.of(best.key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void forEachAscending(IntConsumer visitor) {
+        forEachAscending(root, visitor);
+    }
+
+    // Recursion depth is the height, at most 2 log n
+    private static void forEachAscending(Node node, IntConsumer visitor) {
+        while (node != null) {
+            forEachAscending(node.left, visitor);
+            visitor.accept(node.key);
+            node = node.right;
+        }
+    }
+
+    @Override
+    public int version() {
+        return modCount;
+    }
+
+    // Synchronized because the UI may ask for the view from the FX thread and the worker
+    @Override
+    public synchronized TreeNode root() {
+        if (viewVersion != modCount) {
+            view = copy(root);
+            viewVersion = modCount;
+        }
+        return view;
+    }
+
+    private static TreeNode copy(Node node) {
+        return node == null ? null : OrderedIntTree.viewNode(node.key, copy(node.left), copy(node.right));
+    }
+}
@@ -0,0 +1,142 @@
+package visualizer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+// Bounded LRU cache for results derived from a tree: traversal output, layouts, views.
+//
+// Entries are keyed by the tree object (by identity), its modification count and the kind of
+// result, so once insert() or insertLevelOrder() bumps the tree's modCount its old entries can no
+// longer be hit. Storing a result for a newer version also drops every entry of the older versions
+// of that tree straight away; anything else ages out in least-recently-used order. The cache is
+// bounded both by entry count and by total weight (roughly the number of nodes the cached results
+// cover), so a few huge trees cannot pin gigabytes. Thread-safe; results are computed outside the lock,
+// so a result is only stored if no invalidate() ran since the caller took its generation() stamp.
+// The stamp covers all trees: a tree is rarely invalidated, and a skipped store just costs a recompute.
+final class ResultCache {
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight;
+    private long invalidations;
+    private long hits;
+    private long misses;
+
+    private static final class Key {
+        final Object tree;
+        final int version;
+        final Object kind;
+
+        Key(Object tree, int version, Object kind) {
+            this.tree = tree;
+            this.version = version;
+            this.kind = kind;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return tree == key.tree && version == key.version && kind.equals(key.kind);
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(tree) * 31 + version) * 31 + kind.hashCode();
+        }
+    }
+
+    private static final class Entry {
+        final Object value;
+        final long weight;
+
+        Entry(Object value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    ResultCache(int maxEntries, long maxWeight) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    // Method to look up a result; returns null on a miss
+    synchronized <T> T get(Object tree, int version, Object kind, Class<T> type) {
+        Entry entry = entries.get(new Key(tree, version, kind));
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return type.cast(entry.value);
+    }
+
+    // Method to get the stamp to pass to put() for a result that is about to be computed
+    synchronized long generation() {
+        return invalidations;
+    }
+
+    // Method to store a result computed since generation() returned the given stamp. Results
+    // heavier than the whole cache, or computed while a tree was invalidated, are not kept
+    synchronized void put(Object tree, int version, Object kind, Object value, long weight, long generation) {
+        if (generation != invalidations) {
+            return; // The tree may have been discarded meanwhile; storing would bring its entries back
+        }
+        // Older versions of this tree can never be requested again
+        removeIf(key -> key.tree == tree && key.version != version);
+        if (weight > maxWeight) {
+            return;
+        }
+        Entry previous = entries.put(new Key(tree, version, kind), new Entry(value, weight));
+        if (previous != null) {
+            totalWeight -= previous.weight;
+        }
+        totalWeight += weight;
+
+        // Evict least recently used entries until both bounds hold
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || totalWeight > maxWeight) {
+            totalWeight -= eldest.next().weight;
+            eldest.remove();
+        }
+    }
+
+    // Method to return the cached result, or compute, store and return it
+    <T> T computeIfAbsent(Object tree, int version, Object kind, Class<T> type, ToLongFunction<T> weigher,
+                          Callable<T> compute) throws Exception {
+        long generation = generation();
+        T value = get(tree, version, kind, type);
+        if (value == null) {
+            value = compute.call();
+            put(tree, version, kind, value, weigher.applyAsLong(value), generation);
+        }
+        return value;
+    }
+
+    // Method to drop every entry of a tree, e.g. when it is discarded
+    synchronized void invalidate(Object tree) {
+        invalidations++;
+        removeIf(key -> key.tree == tree);
+    }
+
+    private void removeIf(Predicate<Key> condition) {
+        for (Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Key, Entry> cached = it.next();
+            if (condition.test(cached.getKey())) {
+                totalWeight -= cached.getValue().weight;
+                it.remove();
+            }
+        }
+    }
+
+    synchronized String summary() {
+        return String.format("Result cache: %d entries, %,d hits, %,d misses", entries.size(), hits, misses);
+    }
+}
@@ -0,0 +1,83 @@
+package visualizer;
+
+import java.util.AbstractList;
+import java.util.function.IntUnaryOperator;
+import javafx.collections.FXCollections;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+
+// Shows a traversal or view result of any length as rows of VALUES_PER_ROW values in a ListView.
+//
+// The values stay in the int array they were computed into (a traversal's keys in visiting order or
+// a view's keys) and are read through an index function; the list items are just row numbers,
+// served by a list that stores nothing. ListView only creates cells for the rows on screen, so a
+// result with millions of values costs a few dozen short Strings per scroll step instead of one
+// giant String.
+final class ResultRowsView {
+    static final int VALUES_PER_ROW = 10;
+
+    final ListView<Integer> list = new ListView<>();
+    private IntUnaryOperator values = index -> 0;
+    private int count;
+
+    ResultRowsView() {
+        list.setFixedCellSize(22); // Lets the ListView size its scroll range without measuring rows
+        list.setCellFactory(view -> new ListCell<Integer>() {
+            @Override
+            protected void updateItem(Integer row, boolean empty) {
+                super.updateItem(row, empty);
+                setText(empty || row == null ? null : formatRow(row));
+            }
+        });
+        show(0, values);
+    }
+
+    // Method to display count values, the i-th being values.applyAsInt(i)
+    void show(int count, IntUnaryOperator values) {
+        this.count = count;
+        this.values = values;
+        int rows = (count + VALUES_PER_ROW - 1) / VALUES_PER_ROW;
+        list.setItems(FXCollections.observableList(new AbstractList<Integer>() {
+            @Override
+            public Integer get(int index) {
+                return index;
+            }
+
+            @Override
+            public int size() {
+                return rows;
+            }
+        }));
+        list.scrollTo(0);
+    }
+
+    // Method to display values in array order
+    void show(int[] values) {
+        show(values.length, index -> values[index]);
+    }
+
+    void clear() {
+        show(0, index -> 0);
+    }
+
+    int count() {
+        return count;
+    }
+
+    // Method to get the displayed values as an index function, e.g. for exporting; it keeps
+    // returning these values after the view moves on to another result
+    IntUnaryOperator values() {
+        return values;
+    }
+
+    // "120: 5 7 9 ..." with the index of the row's first value in front
+    private String formatRow(int row) {
+        int from = row * VALUES_PER_ROW;
+        int to = Math.min(from + VALUES_PER_ROW, count);
+        StringBuilder text = new StringBuilder().append(from).append(':');
+        for (int i = from; i < to; i++) {
+            text.append(' ').append(values.applyAsInt(i));
+        }
+        return text.toString();
+    }
+}
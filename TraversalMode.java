@@ -0,0 +1,10 @@
+package visualizer;
+
+// Strategies for the depth-first traversals in TreeTraversal
+enum TraversalMode {
+    // Explicit stack, O(h) auxiliary memory
+    STACK,
+    // Threaded (Morris) inorder/preorder, O(1) auxiliary memory. Temporarily rewires right
+    // pointers, so it must not run while another thread reads or writes the same nodes
+    MORRIS
+}
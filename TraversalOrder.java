@@ -0,0 +1,25 @@
+package visualizer;
+
+// Traversal orders supported by TreeTraversal
+enum TraversalOrder {
+    INORDER("Inorder"),
+    PREORDER("Preorder"),
+    POSTORDER("Postorder"),
+    LEVEL_ORDER("Level-order");
+
+    final String label;
+
+    TraversalOrder(String label) {
+        this.label = label;
+    }
+
+    // Method to look up an order by its UI label, e.g. "Level-order"
+    static TraversalOrder fromLabel(String label) {
+        for (TraversalOrder order : values()) {
+            if (order.label.equals(label)) {
+                return order;
+            }
+        }
+        throw new IllegalArgumentException("Unknown traversal: " + label);
+    }
+}
@@ -0,0 +1,151 @@
+package visualizer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+// Headless entry point: loads a tree, runs one traversal or view over it and streams the values,
+// one per line, to stdout or a file. Timings go to stderr. Needs no JavaFX.
+//
+//   java visualizer.TreeCli [--bst] [--engine avl|red-black|b-tree] [--snapshot]
+//                           [--order inorder|preorder|postorder|level-order]
+//                           [--view top|bottom|left|right|boundary] [--morris] [--out file] [file|-]
+//
+// Input is a node list in the same text format as "Load From File..." (level order, or insertion
+// order with --bst), or with --snapshot a binary snapshot written by TreeSnapshot. Without a file,
+// or with "-", the node list is read from stdin. --engine picks the balancing scheme of --bst trees
+// (AVL by default).
+public class TreeCli {
+    private static final String USAGE = "Usage: TreeCli [--bst] [--engine avl|red-black|b-tree] [--snapshot] "
+            + "[--order inorder|preorder|postorder|level-order] [--view top|bottom|left|right|boundary] "
+            + "[--morris] [--out file] [file|-]";
+
+    public static void main(String[] args) {
+        boolean bst = false;
+        OrderedIntTree.Engine engine = OrderedIntTree.Engine.AVL;
+        boolean snapshot = false;
+        TraversalOrder order = TraversalOrder.INORDER;
+        TreeViews.View view = null;
+        TraversalMode mode = TraversalMode.STACK;
+        String input = "-";
+        String output = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--bst":
+                        bst = true;
+                        break;
+                    case "--engine":
+                        engine = OrderedIntTree.Engine.valueOf(args[++i].toUpperCase(Locale.ROOT).replace('-', '_'));
+                        break;
+                    case "--snapshot":
+                        snapshot = true;
+                        break;
+                    case "--order":
+                        order = parseOrder(args[++i]);
+                        break;
+                    case "--view":
+                        view = TreeViews.View.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                        break;
+                    case "--morris":
+                        mode = TraversalMode.MORRIS;
+                        break;
+                    case "--out":
+                        output = args[++i];
+                        break;
+                    default:
+                        if (args[i].startsWith("--") || i != args.length - 1) {
+                            throw new IllegalArgumentException("Unknown option: " + args[i]);
+                        }
+                        input = args[i];
+                }
+            }
+            if (snapshot && input.equals("-")) {
+                throw new IllegalArgumentException("--snapshot needs a file");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            TreeNode root = load(input, bst, engine, snapshot);
+            long loaded = System.nanoTime();
+            report("load", countNodes(root), loaded - start);
+
+            OutputStream stream = output == null ? System.out : Files.newOutputStream(Paths.get(output));
+            try (IntWriter writer = new IntWriter(stream)) {
+                long begin = System.nanoTime();
+                if (view != null) {
+                    int[] values = TreeViews.compute(root, view);
+                    for (int value : values) {
+                        writer.accept(value);
+                    }
+                } else {
+                    TreeTraversal traversal = new TreeTraversal();
+                    traversal.setMode(mode);
+                    traversal.traverse(root, order, writer);
+                }
+                writer.flush();
+                report(view != null ? view.label : order.label, writer.count, System.nanoTime() - begin);
+            }
+        } catch (IOException | UncheckedIOException | NumberFormatException e) {
+            System.err.println("TreeCli: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static TraversalOrder parseOrder(String name) {
+        for (TraversalOrder order : TraversalOrder.values()) {
+            if (order.label.equalsIgnoreCase(name) || order.name().equalsIgnoreCase(name)) {
+                return order;
+            }
+        }
+        throw new IllegalArgumentException("Unknown traversal: " + name);
+    }
+
+    private static TreeNode load(String input, boolean bst, OrderedIntTree.Engine engine, boolean snapshot)
+            throws IOException {
+        if (snapshot) {
+            Path file = Paths.get(input);
+            return bst ? TreeSnapshot.loadOrderedTree(file, engine).root() : TreeSnapshot.loadBinaryTree(file).root;
+        }
+        if (bst) {
+            TreeFileLoader.ValueBuffer values = new TreeFileLoader.ValueBuffer();
+            if (input.equals("-")) {
+                TreeFileLoader.load(System.in, values);
+            } else {
+                TreeFileLoader.load(Paths.get(input), values);
+            }
+            OrderedIntTree tree = engine.create();
+            tree.insertAll(values.toArray());
+            return tree.root();
+        }
+        BinaryTree tree = new BinaryTree();
+        if (input.equals("-")) {
+            TreeFileLoader.load(System.in, tree.levelOrderBuilder());
+        } else {
+            TreeFileLoader.load(Paths.get(input), tree.levelOrderBuilder());
+        }
+        return tree.root;
+    }
+
+    private static long countNodes(TreeNode root) {
+        long[] count = new long[1];
+        new TreeTraversal().preorder(root, value -> count[0]++);
+        return count[0];
+    }
+
+    private static void report(String step, long nodes, long nanos) {
+        double seconds = nanos / 1e9;
+        System.err.printf("%s: %,d nodes in %.3f s (%,.0f nodes/s)%n",
+                step, nodes, seconds, seconds > 0 ? nodes / seconds : 0);
+    }
+}
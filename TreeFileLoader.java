@@ -0,0 +1,223 @@
+package visualizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Streams node lists into trees without materializing the token list.
+// Input is text: fields are separated by commas or line breaks, and each field holds one integer,
+// the word "null" or nothing. Spaces and tabs are allowed around a value but not inside a field,
+// so "1, 2" is two values and "1 2" is an error, as with the original split(",") and parseInt
+// parser; like parseInt, an integer may start with "+" or "-". An empty field between two commas,
+// or "null", is a missing node, but empty fields at the end of the input are dropped, as split()
+// drops them ("1,," is just 1). Empty lines are skipped, so files may hold one value per line (the
+// format "Export Result..." writes). Missing nodes only matter for level-order input, the BST path
+// skips them. Files are read through memory-mapped windows and
+// parsed byte by byte, so memory use does not depend on the file size.
+final class TreeFileLoader {
+    private static final long MAP_WINDOW = 64L << 20; // Bytes mapped at a time
+    private static final int SCRATCH_SIZE = 64 << 10;
+
+    // Receives the parsed nodes in input order
+    interface NodeSink {
+        void node(int value);
+
+        void missing();
+    }
+
+    private TreeFileLoader() {
+    }
+
+    // Method to build a BinaryTree from a level-order file, same shape as insertLevelOrder
+    public static BinaryTree loadLevelOrder(Path file) throws IOException {
+        BinaryTree tree = new BinaryTree();
+        load(file, tree.levelOrderBuilder());
+        return tree;
+    }
+
+    // Method to build a BinarySearchTree from the file's values as one batch insert
+    public static BinarySearchTree loadBinarySearchTree(Path file) throws IOException {
+        ValueBuffer values = new ValueBuffer();
+        load(file, values);
+        BinarySearchTree tree = new BinarySearchTree();
+        tree.insertAll(values.toArray());
+        return tree;
+    }
+
+    // Sink that collects the values in input order and ignores missing nodes, so that they can be
+    // handed to BinarySearchTree.insertAll in one batch
+    static final class ValueBuffer implements NodeSink {
+        private int[] values = new int[1024];
+        private int count;
+
+        @Override
+        public void node(int value) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = value;
+        }
+
+        @Override
+        public void missing() {
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, count);
+        }
+    }
+
+    // Sink that passes every value on and ignores missing nodes
+    static NodeSink valueSink(IntConsumer consumer) {
+        return new NodeSink() {
+            @Override
+            public void node(int value) {
+                consumer.accept(value);
+            }
+
+            @Override
+            public void missing() {
+            }
+        };
+    }
+
+    // Method to stream a file into the sink and return the number of tokens read
+    public static long load(Path file, NodeSink sink) throws IOException {
+        Parser parser = new Parser(sink);
+        byte[] scratch = new byte[SCRATCH_SIZE];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAP_WINDOW) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAP_WINDOW, size - position));
+                while (window.hasRemaining()) {
+                    int length = Math.min(scratch.length, window.remaining());
+                    window.get(scratch, 0, length);
+                    parser.feed(scratch, 0, length);
+                }
+            }
+        }
+        return parser.finish();
+    }
+
+    // Method to stream any input (e.g. stdin) into the sink and return the number of tokens read
+    public static long load(InputStream in, NodeSink sink) throws IOException {
+        Parser parser = new Parser(sink);
+        byte[] scratch = new byte[SCRATCH_SIZE];
+        int length;
+        while ((length = in.read(scratch)) > 0) {
+            parser.feed(scratch, 0, length);
+        }
+        return parser.finish();
+    }
+
+    // Method to parse text typed by the user, e.g. "1, 2, , 4"
+    public static long parse(String text, NodeSink sink) {
+        Parser parser = new Parser(sink);
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        parser.feed(bytes, 0, bytes.length);
+        return parser.finish();
+    }
+
+    // Hand-rolled tokenizer; keeps its state between feed() calls so tokens may span buffers
+    private static final class Parser {
+        private final NodeSink sink;
+        private long value;
+        private boolean signed; // A '+' or '-' starts the current token
+        private boolean negative;
+        private int digits;
+        private int letters; // Characters of "null" matched so far
+        private boolean fieldHasToken; // A token was completed since the last comma
+        private long emptyFields; // Empty fields not yet passed on; dropped if nothing follows them
+        private long tokens;
+        private long offset; // Input position, for error messages
+
+        Parser(NodeSink sink) {
+            this.sink = sink;
+        }
+
+        void feed(byte[] buffer, int from, int length) {
+            for (int i = from; i < from + length; i++, offset++) {
+                byte b = buffer[i];
+                if (b == ',') {
+                    endToken();
+                    if (!fieldHasToken) {
+                        emptyFields++;
+                    }
+                    fieldHasToken = false;
+                } else if (b == '\n') {
+                    endToken();
+                    fieldHasToken = false; // A line break ends the field; an empty line is no node
+                } else if (b == ' ' || b == '\r' || b == '\t') {
+                    endToken();
+                } else {
+                    valueByte(b);
+                }
+            }
+        }
+
+        // Adds a byte of an integer or of "null" to the current token
+        private void valueByte(byte b) {
+            if (fieldHasToken && digits == 0 && !signed && letters == 0) {
+                throw error(); // A second value in the same field, e.g. "1 2"
+            }
+            if (b >= '0' && b <= '9') {
+                if (letters > 0) {
+                    throw error();
+                }
+                value = value * 10 + (b - '0');
+                digits++;
+                if (value > (negative ? 1L << 31 : Integer.MAX_VALUE)) {
+                    throw error();
+                }
+            } else if ((b == '-' || b == '+') && digits == 0 && !signed && letters == 0) {
+                signed = true;
+                negative = b == '-';
+            } else if (letters < 4 && b == "null".charAt(letters) && digits == 0 && !signed) {
+                letters++;
+            } else {
+                throw error();
+            }
+        }
+
+        long finish() {
+            endToken();
+            return tokens;
+        }
+
+        private void endToken() {
+            if (digits == 0 && letters != 4) {
+                if (signed || letters > 0) {
+                    throw error();
+                }
+                return;
+            }
+            for (; emptyFields > 0; emptyFields--) {
+                sink.missing();
+                tokens++;
+            }
+            if (digits > 0) {
+                sink.node((int) (negative ? -value : value));
+            } else {
+                sink.missing();
+            }
+            tokens++;
+            fieldHasToken = true;
+            value = 0;
+            signed = false;
+            negative = false;
+            digits = 0;
+            letters = 0;
+        }
+
+        private NumberFormatException error() {
+            return new NumberFormatException("Invalid node value near byte " + offset);
+        }
+    }
+}
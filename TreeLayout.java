@@ -0,0 +1,230 @@
+package visualizer;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Node coordinates for drawing a tree, computed once per tree version.
+//
+// Uses the Reingold-Tilford algorithm: subtrees are laid out bottom-up and pushed apart only as far
+// as their facing contours require, so the drawing is compact, parents sit centered over their
+// children and no two nodes overlap, whatever the tree's size or shape. Contours are followed with
+// threads, which keeps the whole pass O(n). Coordinates are the top-left corner of each node's
+// circle, with the root at (0, 0).
+//
+// Nodes are identified by their ArrayTree.fromNodes index. That order is not preorder (the right
+// child is numbered before the left one); the layout only relies on every parent having a smaller
+// index than its children. Rows of nodes at equal depth are kept sorted by x, so the renderer can
+// find the nodes inside a viewport with a binary search per visible row.
+final class TreeLayout {
+    static final double NODE_SIZE = 30;
+    static final double LEVEL_GAP = 60;
+    static final double MIN_SEPARATION = 40; // Minimum distance between neighbouring nodes on a row
+
+    final ArrayTree tree; // The laid-out tree in array form; node ids are its indices
+    final int size;
+    final int[] keys;
+    final int[] left;
+    final int[] right;
+    final int[] parent;
+    final double[] x;
+    final double[] y;
+    final double minX;
+    final double maxX;
+    final int depth; // Number of rows
+
+    private final int[] rowStart; // Row d holds rowNodes[rowStart[d] .. rowStart[d + 1])
+    private final int[] rowNodes;
+
+    private TreeLayout(ArrayTree tree) {
+        this.tree = tree;
+        size = tree.size;
+        keys = tree.keys;
+        left = tree.left;
+        right = tree.right;
+        parent = new int[size];
+        x = new double[size];
+        y = new double[size];
+
+        Arrays.fill(parent, ArrayTree.NIL);
+        for (int node = 0; node < size; node++) {
+            if (left[node] != ArrayTree.NIL) {
+                parent[left[node]] = node;
+            }
+            if (right[node] != ArrayTree.NIL) {
+                parent[right[node]] = node;
+            }
+        }
+
+        double[] offset = placeSubtrees();
+
+        // Absolute positions top-down; every parent has a smaller index than its children
+        double lowest = 0;
+        double highest = 0;
+        int maxRow = 0;
+        int[] row = new int[size];
+        for (int node = 1; node < size; node++) {
+            int p = parent[node];
+            x[node] = x[p] + offset[node];
+            row[node] = row[p] + 1;
+            y[node] = row[node] * LEVEL_GAP;
+            lowest = Math.min(lowest, x[node]);
+            highest = Math.max(highest, x[node]);
+            maxRow = Math.max(maxRow, row[node]);
+        }
+        minX = lowest;
+        maxX = highest;
+        depth = size == 0 ? 0 : maxRow + 1;
+
+        // Level-order visits each row left to right, i.e. by ascending x
+        rowStart = new int[depth + 1];
+        rowNodes = new int[size];
+        for (int node = 0; node < size; node++) {
+            rowStart[row[node] + 1]++;
+        }
+        for (int d = 0; d < depth; d++) {
+            rowStart[d + 1] += rowStart[d];
+        }
+        if (size > 0) {
+            int head = 0;
+            int tail = 0;
+            rowNodes[tail++] = 0;
+            while (head < tail) {
+                int node = rowNodes[head++];
+                if (left[node] != ArrayTree.NIL) {
+                    rowNodes[tail++] = left[node];
+                }
+                if (right[node] != ArrayTree.NIL) {
+                    rowNodes[tail++] = right[node];
+                }
+            }
+        }
+    }
+
+    // Method to lay out a tree; an empty tree gives an empty layout
+    public static TreeLayout compute(TreeNode root) {
+        return new TreeLayout(ArrayTree.fromNodes(root));
+    }
+
+    // Bottom-up pass: returns each node's x offset relative to its parent
+    private double[] placeSubtrees() {
+        double[] offset = new double[size];
+        int[] height = new int[size];
+        int[] thread = new int[size]; // Next contour node below a leaf, or NIL
+        double[] threadOffset = new double[size]; // x(thread target) - x(leaf)
+        int[] leftmost = new int[size]; // Deepest leftmost node of the subtree
+        double[] leftmostOffset = new double[size]; // Its x relative to the subtree root
+        int[] rightmost = new int[size];
+        double[] rightmostOffset = new double[size];
+        Arrays.fill(thread, ArrayTree.NIL);
+
+        // Children have larger indices than their parent, so descending order is bottom-up
+        for (int v = size - 1; v >= 0; v--) {
+            int l = left[v];
+            int r = right[v];
+            if (l == ArrayTree.NIL && r == ArrayTree.NIL) {
+                height[v] = 1;
+                leftmost[v] = rightmost[v] = v;
+                continue;
+            }
+            if (l == ArrayTree.NIL || r == ArrayTree.NIL) {
+                // A single child sits half a separation to its side
+                int child = l == ArrayTree.NIL ? r : l;
+                offset[child] = l == ArrayTree.NIL ? MIN_SEPARATION / 2 : -MIN_SEPARATION / 2;
+                height[v] = height[child] + 1;
+                leftmost[v] = leftmost[child];
+                leftmostOffset[v] = leftmostOffset[child] + offset[child];
+                rightmost[v] = rightmost[child];
+                rightmostOffset[v] = rightmostOffset[child] + offset[child];
+                continue;
+            }
+
+            // Walk down the right contour of the left subtree and the left contour of the right
+            // subtree, widening the distance between the two subtree roots where they would collide
+            double separation = MIN_SEPARATION;
+            int lc = l;
+            int rc = r;
+            double lx = 0; // x of lc relative to l
+            double rx = 0; // x of rc relative to r
+            while (true) {
+                double gap = separation + rx - lx;
+                if (gap < MIN_SEPARATION) {
+                    separation += MIN_SEPARATION - gap;
+                }
+                int nextL = nextOnRightContour(lc, thread);
+                int nextR = nextOnLeftContour(rc, thread);
+                if (nextL == ArrayTree.NIL || nextR == ArrayTree.NIL) {
+                    // Thread the shallower subtree's outer contour onto the deeper one
+                    if (nextL != ArrayTree.NIL) {
+                        double targetX = -separation / 2 + lx + stepOnContour(lc, nextL, offset, threadOffset);
+                        int from = rightmost[r];
+                        thread[from] = nextL;
+                        threadOffset[from] = targetX - (separation / 2 + rightmostOffset[r]);
+                    } else if (nextR != ArrayTree.NIL) {
+                        double targetX = separation / 2 + rx + stepOnContour(rc, nextR, offset, threadOffset);
+                        int from = leftmost[l];
+                        thread[from] = nextR;
+                        threadOffset[from] = targetX - (-separation / 2 + leftmostOffset[l]);
+                    }
+                    break;
+                }
+                lx += stepOnContour(lc, nextL, offset, threadOffset);
+                rx += stepOnContour(rc, nextR, offset, threadOffset);
+                lc = nextL;
+                rc = nextR;
+            }
+
+            offset[l] = -separation / 2;
+            offset[r] = separation / 2;
+            height[v] = 1 + Math.max(height[l], height[r]);
+            int leftSource = height[l] >= height[r] ? l : r;
+            int rightSource = height[r] >= height[l] ? r : l;
+            leftmost[v] = leftmost[leftSource];
+            leftmostOffset[v] = leftmostOffset[leftSource] + offset[leftSource];
+            rightmost[v] = rightmost[rightSource];
+            rightmostOffset[v] = rightmostOffset[rightSource] + offset[rightSource];
+        }
+        return offset;
+    }
+
+    private int nextOnLeftContour(int node, int[] thread) {
+        if (left[node] != ArrayTree.NIL) {
+            return left[node];
+        }
+        return right[node] != ArrayTree.NIL ? right[node] : thread[node];
+    }
+
+    private int nextOnRightContour(int node, int[] thread) {
+        if (right[node] != ArrayTree.NIL) {
+            return right[node];
+        }
+        return left[node] != ArrayTree.NIL ? left[node] : thread[node];
+    }
+
+    // x(next) - x(node) for a contour step, through a child link or a thread
+    private double stepOnContour(int node, int next, double[] offset, double[] threadOffset) {
+        return next == left[node] || next == right[node] ? offset[next] : threadOffset[node];
+    }
+
+    // Method to visit the nodes whose circles intersect the given rectangle (layout coordinates)
+    public void forEachVisible(double minVisibleX, double minVisibleY, double maxVisibleX, double maxVisibleY,
+                               IntConsumer visitor) {
+        int firstRow = Math.max((int) Math.floor((minVisibleY - NODE_SIZE) / LEVEL_GAP) + 1, 0);
+        int lastRow = Math.min((int) Math.floor(maxVisibleY / LEVEL_GAP), depth - 1);
+        for (int d = firstRow; d <= lastRow; d++) {
+            // First node on the row whose right edge reaches into the viewport
+            int lo = rowStart[d];
+            int hi = rowStart[d + 1];
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (x[rowNodes[mid]] + NODE_SIZE < minVisibleX) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            for (int i = lo; i < rowStart[d + 1] && x[rowNodes[i]] <= maxVisibleX; i++) {
+                visitor.accept(rowNodes[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package visualizer;
+
+// Tree node structure
+class TreeNode {
+    Integer data;
+    TreeNode left, right;
+    int height; // Height of the subtree rooted here, maintained by the search trees
+    int size; // Number of nodes in the subtree rooted here, maintained by the search trees
+
+    public TreeNode(Integer data) {
+        this.data = data;
+        left = right = null;
+        height = 1;
+        size = 1;
+    }
+}
@@ -0,0 +1,262 @@
+package visualizer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+// Compact binary snapshots of trees, reloaded in O(n) without re-inserting or rebalancing.
+//
+// Layout (little-endian):
+//   int    magic "TRSN"
+//   short  format version
+//   byte   kind (0 = BinaryTree, 1 = BinarySearchTree)
+//   byte   reserved
+//   int    node count n
+//   int[n] keys in preorder
+//   bytes  shape bitmap, 2 bits per node in preorder (bit 0: has left child, bit 1: has right child)
+//   int    CRC32 of everything above
+//
+// Files are mapped in one piece, so a snapshot is limited to 2 GB (about 400 million nodes).
+final class TreeSnapshot {
+    static final int MAGIC = 0x5452534E;
+    static final short VERSION = 1;
+    static final byte KIND_BINARY_TREE = 0;
+    static final byte KIND_BINARY_SEARCH_TREE = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int BUFFER_BYTES = 64 << 10;
+
+    private TreeSnapshot() {
+    }
+
+    public static void save(BinaryTree tree, Path file) throws IOException {
+        write(tree.root, KIND_BINARY_TREE, file);
+    }
+
+    // Method to save a search tree of any engine. Loading restores AVL heights from the shape, so
+    // trees of the other engines are saved as a perfectly balanced tree of their keys
+    public static void save(OrderedIntTree tree, Path file) throws IOException {
+        TreeNode root = tree.root();
+        if (!(tree instanceof BinarySearchTree)) {
+            BinarySearchTree balanced = new BinarySearchTree();
+            balanced.bulkLoad(tree.toSortedArray());
+            root = balanced.root;
+        }
+        write(root, KIND_BINARY_SEARCH_TREE, file);
+    }
+
+    public static void save(PersistentBinarySearchTree version, Path file) throws IOException {
+        write(version.root, KIND_BINARY_SEARCH_TREE, file);
+    }
+
+    // Method to load any snapshot as a plain BinaryTree (a BST snapshot keeps its shape)
+    public static BinaryTree loadBinaryTree(Path file) throws IOException {
+        BinaryTree tree = new BinaryTree();
+        tree.root = read(file, false);
+        return tree;
+    }
+
+    // Method to load a BinarySearchTree snapshot, restoring its AVL heights and subtree sizes
+    public static BinarySearchTree loadBinarySearchTree(Path file) throws IOException {
+        BinarySearchTree tree = new BinarySearchTree();
+        tree.root = read(file, true);
+        return tree;
+    }
+
+    // Method to load a BinarySearchTree snapshot into a tree of the given engine
+    public static OrderedIntTree loadOrderedTree(Path file, OrderedIntTree.Engine engine) throws IOException {
+        BinarySearchTree tree = loadBinarySearchTree(file);
+        if (engine == OrderedIntTree.Engine.AVL) {
+            return tree;
+        }
+        OrderedIntTree converted = engine.create();
+        converted.insertAll(tree.toSortedArray());
+        return converted;
+    }
+
+    private static void write(TreeNode root, byte kind, Path file) throws IOException {
+        int count = countNodes(root);
+        byte[] shape = new byte[(int) ((2L * count + 7) / 8)];
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.putInt(MAGIC).putShort(VERSION).put(kind).put((byte) 0).putInt(count);
+
+            // Keys in preorder, collecting the shape bits along the way
+            TreeNode[] stack = new TreeNode[64];
+            int top = 0;
+            int index = 0;
+            if (root != null) {
+                stack[top++] = root;
+            }
+            while (top > 0) {
+                TreeNode node = stack[--top];
+                if (!buffer.hasRemaining()) {
+                    flush(buffer, channel, crc);
+                }
+                buffer.putInt(node.data);
+                int bits = (node.left != null ? 1 : 0) | (node.right != null ? 2 : 0);
+                shape[index >>> 2] |= (byte) (bits << ((index & 3) * 2));
+                index++;
+                if (top + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                if (node.right != null) {
+                    stack[top++] = node.right;
+                }
+                if (node.left != null) {
+                    stack[top++] = node.left;
+                }
+            }
+
+            for (int offset = 0; offset < shape.length; ) {
+                if (!buffer.hasRemaining()) {
+                    flush(buffer, channel, crc);
+                }
+                int length = Math.min(buffer.remaining(), shape.length - offset);
+                buffer.put(shape, offset, length);
+                offset += length;
+            }
+            flush(buffer, channel, crc);
+
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel channel, CRC32 crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static TreeNode read(Path file, boolean binarySearchTree) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + 4) {
+                throw new IOException("Not a tree snapshot: file is too short");
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is larger than 2 GB");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (mapped.getInt(0) != MAGIC) {
+                throw new IOException("Not a tree snapshot: bad magic number");
+            }
+            if (mapped.getShort(4) != VERSION) {
+                throw new IOException("Unsupported snapshot version " + mapped.getShort(4));
+            }
+            byte kind = mapped.get(6);
+            if (binarySearchTree && kind != KIND_BINARY_SEARCH_TREE) {
+                throw new IOException("Snapshot holds a plain binary tree, not a binary search tree");
+            }
+            int count = mapped.getInt(8);
+            long shapeBytes = (2L * count + 7) / 8;
+            if (count < 0 || HEADER_BYTES + 4L * count + shapeBytes + 4 != size) {
+                throw new IOException("Corrupt snapshot: size does not match node count");
+            }
+
+            int crcOffset = (int) size - 4;
+            CRC32 crc = new CRC32();
+            ByteBuffer body = mapped.duplicate();
+            body.position(0).limit(crcOffset);
+            crc.update(body);
+            if ((int) crc.getValue() != mapped.getInt(crcOffset)) {
+                throw new IOException("Corrupt snapshot: checksum mismatch");
+            }
+
+            TreeNode root = rebuild(mapped, count);
+            if (binarySearchTree) {
+                restoreHeightsAndSizes(root);
+            }
+            return root;
+        }
+    }
+
+    // Rebuilds the preorder key stream using the shape bits. A node with a left child is followed
+    // directly by that child; otherwise the next node is the right child of the most recent node
+    // that still has a right child pending
+    private static TreeNode rebuild(ByteBuffer mapped, int count) {
+        int keysOffset = HEADER_BYTES;
+        int shapeOffset = HEADER_BYTES + 4 * count;
+        TreeNode root = null;
+        TreeNode awaitingLeft = null;
+        TreeNode[] awaitingRight = new TreeNode[64];
+        int top = 0;
+
+        for (int i = 0; i < count; i++) {
+            TreeNode node = new TreeNode(mapped.getInt(keysOffset + 4 * i));
+            int bits = (mapped.get(shapeOffset + (i >>> 2)) >>> ((i & 3) * 2)) & 3;
+
+            if (i == 0) {
+                root = node;
+            } else if (awaitingLeft != null) {
+                awaitingLeft.left = node;
+                awaitingLeft = null;
+            } else {
+                awaitingRight[--top].right = node;
+            }
+
+            if ((bits & 2) != 0) {
+                if (top == awaitingRight.length) {
+                    awaitingRight = Arrays.copyOf(awaitingRight, top * 2);
+                }
+                awaitingRight[top++] = node;
+            }
+            if ((bits & 1) != 0) {
+                awaitingLeft = node;
+            }
+        }
+        return root;
+    }
+
+    // Recomputes subtree heights and sizes bottom-up with an iterative postorder walk
+    private static void restoreHeightsAndSizes(TreeNode root) {
+        TreeNode[] stack = new TreeNode[64];
+        int top = 0;
+        TreeNode current = root;
+        TreeNode lastVisited = null;
+        while (current != null || top > 0) {
+            if (current != null) {
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top * 2);
+                }
+                stack[top++] = current;
+                current = current.left;
+            } else {
+                TreeNode peek = stack[top - 1];
+                if (peek.right != null && lastVisited != peek.right) {
+                    current = peek.right;
+                } else {
+                    int leftHeight = peek.left == null ? 0 : peek.left.height;
+                    int rightHeight = peek.right == null ? 0 : peek.right.height;
+                    peek.height = 1 + Math.max(leftHeight, rightHeight);
+                    peek.size = 1 + OrderStatistics.size(peek.left) + OrderStatistics.size(peek.right);
+                    lastVisited = peek;
+                    top--;
+                }
+            }
+        }
+    }
+
+    private static int countNodes(TreeNode root) {
+        int[] count = new int[1];
+        new TreeTraversal().preorder(root, value -> count[0]++);
+        return count[0];
+    }
+}
@@ -0,0 +1,193 @@
+package visualizer;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Runtime instrumentation for the tree hot paths: process-wide counters plus JFR events.
+//
+// Off by default; start the JVM with -Dvisualizer.stats=true to turn it on. Every hook is guarded
+// by the constant ENABLED, so when it is false the JIT drops the hooks and the trees run exactly
+// as before. When on, the counters are LongAdders (cheap under contention) and each operation
+// also emits a JFR event, which costs almost nothing unless a recording is running, e.g.
+//   java -Dvisualizer.stats=true -XX:StartFlightRecording=filename=tree.jfr ...
+// The "Tree" category in JDK Mission Control then lists the inserts, level-order builds and
+// traversals with their durations.
+final class TreeStats {
+    static final boolean ENABLED = Boolean.getBoolean("visualizer.stats");
+
+    private static final LongAdder inserts = new LongAdder();
+    private static final LongAdder insertNanos = new LongAdder();
+    private static final LongAdder insertPathNodes = new LongAdder(); // Nodes visited on insert paths
+    private static final LongAccumulator maxInsertDepth = new LongAccumulator(Math::max, 0);
+    private static final LongAdder rotations = new LongAdder();
+    private static final LongAdder levelOrderBuilds = new LongAdder();
+    private static final LongAdder levelOrderNodes = new LongAdder();
+    private static final LongAdder levelOrderNanos = new LongAdder();
+    private static final LongAdder traversals = new LongAdder();
+    private static final LongAdder traversalNodes = new LongAdder();
+    private static final LongAdder traversalNanos = new LongAdder();
+    private static final LongAccumulator maxTraversalDepth = new LongAccumulator(Math::max, 0);
+
+    private TreeStats() {
+    }
+
+    @Name("visualizer.Insert")
+    @Label("BST Insert")
+    @Category("Tree")
+    static final class InsertEvent extends Event {
+        @Label("Key")
+        int key;
+
+        @Label("Depth")
+        @Description("Nodes on the search path, including the new node")
+        int depth;
+
+        @Label("Rotations")
+        int rotations;
+
+        transient long startNanos;
+    }
+
+    @Name("visualizer.LevelOrderBuild")
+    @Label("Level-Order Build")
+    @Category("Tree")
+    static final class LevelOrderBuildEvent extends Event {
+        @Label("Nodes")
+        long nodes;
+
+        transient long startNanos;
+    }
+
+    @Name("visualizer.Traversal")
+    @Label("Traversal")
+    @Category("Tree")
+    static final class TraversalEvent extends Event implements IntConsumer {
+        @Label("Order")
+        String order;
+
+        @Label("Mode")
+        String mode;
+
+        @Label("Nodes Visited")
+        long nodes;
+
+        @Label("Peak Stack Depth")
+        @Description("Most entries on the traversal stack, or in the queue for level order; 0 for Morris")
+        int peakDepth;
+
+        transient IntConsumer visitor;
+        transient long startNanos;
+
+        // Counts the visited nodes on the way to the real visitor
+        @Override
+        public void accept(int value) {
+            nodes++;
+            visitor.accept(value);
+        }
+    }
+
+    static InsertEvent beginInsert() {
+        InsertEvent event = new InsertEvent();
+        event.begin();
+        event.startNanos = System.nanoTime();
+        return event;
+    }
+
+    static void endInsert(InsertEvent event, int key, int depth, int rotationCount) {
+        long nanos = System.nanoTime() - event.startNanos;
+        event.end();
+        inserts.increment();
+        insertNanos.add(nanos);
+        insertPathNodes.add(depth);
+        maxInsertDepth.accumulate(depth);
+        rotations.add(rotationCount);
+        if (event.shouldCommit()) {
+            event.key = key;
+            event.depth = depth;
+            event.rotations = rotationCount;
+            event.commit();
+        }
+    }
+
+    static LevelOrderBuildEvent beginLevelOrderBuild() {
+        LevelOrderBuildEvent event = new LevelOrderBuildEvent();
+        event.begin();
+        event.startNanos = System.nanoTime();
+        return event;
+    }
+
+    static void endLevelOrderBuild(LevelOrderBuildEvent event, long nodes) {
+        long nanos = System.nanoTime() - event.startNanos;
+        event.end();
+        levelOrderBuilds.increment();
+        levelOrderNodes.add(nodes);
+        levelOrderNanos.add(nanos);
+        if (event.shouldCommit()) {
+            event.nodes = nodes;
+            event.commit();
+        }
+    }
+
+    // Starts timing a traversal; the returned event is the visitor to traverse with
+    static TraversalEvent beginTraversal(IntConsumer visitor) {
+        TraversalEvent event = new TraversalEvent();
+        event.visitor = visitor;
+        event.begin();
+        event.startNanos = System.nanoTime();
+        return event;
+    }
+
+    static void endTraversal(TraversalEvent event, TraversalOrder order, TraversalMode mode, int peakDepth) {
+        long nanos = System.nanoTime() - event.startNanos;
+        event.end();
+        traversals.increment();
+        traversalNodes.add(event.nodes);
+        traversalNanos.add(nanos);
+        maxTraversalDepth.accumulate(peakDepth);
+        if (event.shouldCommit()) {
+            event.order = order.label;
+            event.mode = mode.name();
+            event.peakDepth = peakDepth;
+            event.commit();
+        }
+    }
+
+    // Method to clear all counters
+    static void reset() {
+        inserts.reset();
+        insertNanos.reset();
+        insertPathNodes.reset();
+        maxInsertDepth.reset();
+        rotations.reset();
+        levelOrderBuilds.reset();
+        levelOrderNodes.reset();
+        levelOrderNanos.reset();
+        traversals.reset();
+        traversalNodes.reset();
+        traversalNanos.reset();
+        maxTraversalDepth.reset();
+    }
+
+    // Method to describe the counters in a few lines, e.g. for the UI stats panel
+    static String summary() {
+        if (!ENABLED) {
+            return "Stats off (run with -Dvisualizer.stats=true)";
+        }
+        long insertCount = inserts.sum();
+        return String.format("BST inserts: %,d (%,.2f us avg, %.1f nodes/path, max depth %d)%n"
+                        + "Rotations: %,d%n"
+                        + "Level-order builds: %,d (%,d nodes, %,.1f ms)%n"
+                        + "Traversals: %,d (%,d nodes, %,.1f ms, max stack %d)",
+                insertCount, insertCount == 0 ? 0 : insertNanos.sum() / 1e3 / insertCount,
+                insertCount == 0 ? 0 : (double) insertPathNodes.sum() / insertCount, maxInsertDepth.get(),
+                rotations.sum(),
+                levelOrderBuilds.sum(), levelOrderNodes.sum(), levelOrderNanos.sum() / 1e6,
+                traversals.sum(), traversalNodes.sum(), traversalNanos.sum() / 1e6, maxTraversalDepth.get());
+    }
+}
@@ -0,0 +1,714 @@
+package visualizer;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+// Class for tree traversal algorithms
+// All traversals are iterative on explicit stacks/queues, so degenerate trees cannot overflow
+// the call stack. The visitor methods reuse this instance's buffers and do not allocate per node;
+// the String methods are thin adapters that collect the visited values.
+class TreeTraversal {
+    private StringBuilder traversalPath;
+    private TraversalMode mode = TraversalMode.STACK;
+    private final IntConsumer appendToPath;
+    private TreeNode[] nodeBuffer; // Reusable stack/queue for TreeNode traversals
+    private int[] indexBuffer; // Reusable stack/queue for ArrayTree traversals
+    private int peakDepth; // Most stack/queue entries during the current traversal, when TreeStats is on
+
+    public TreeTraversal() {
+        traversalPath = new StringBuilder();
+        appendToPath = value -> traversalPath.append(value).append(' ');
+        nodeBuffer = new TreeNode[64];
+        indexBuffer = new int[64];
+    }
+
+    // Method to perform inorder traversal
+    public String inorder(TreeNode root) {
+        traversalPath.setLength(0); // Clear previous results
+        inorder(root, appendToPath);
+        return traversalPath.toString().trim();
+    }
+
+    // Method to perform preorder traversal
+    public String preorder(TreeNode root) {
+        traversalPath.setLength(0); // Clear previous results
+        preorder(root, appendToPath);
+        return traversalPath.toString().trim();
+    }
+
+    // Method to perform postorder traversal
+    public String postorder(TreeNode root) {
+        traversalPath.setLength(0); // Clear previous results
+        postorder(root, appendToPath);
+        return traversalPath.toString().trim();
+    }
+
+    // Method to perform level-order traversal (Breadth-First Search)
+    public String levelOrder(TreeNode root) {
+        traversalPath.setLength(0); // Clear previous results
+        levelOrder(root, appendToPath);
+        return traversalPath.toString().trim();
+    }
+
+    // Method to run any traversal and return the values as a space-separated String
+    public String traverse(TreeNode root, TraversalOrder order) {
+        traversalPath.setLength(0); // Clear previous results
+        traverse(root, order, appendToPath);
+        return traversalPath.toString().trim();
+    }
+
+    // Method to run any traversal and hand each value to the visitor
+    public void traverse(TreeNode root, TraversalOrder order, IntConsumer visitor) {
+        switch (order) {
+            case INORDER:
+                inorder(root, visitor);
+                break;
+            case PREORDER:
+                preorder(root, visitor);
+                break;
+            case POSTORDER:
+                postorder(root, visitor);
+                break;
+            case LEVEL_ORDER:
+                levelOrder(root, visitor);
+                break;
+        }
+    }
+
+    // Method to run any traversal over a search tree of any engine. Inorder is the ascending key
+    // order, which each engine walks in its own structure; the other orders depend on the shape and
+    // go through the TreeNode form, which the red-black and B-tree engines build on first use
+    public void traverse(OrderedIntTree tree, TraversalOrder order, IntConsumer visitor) {
+        if (order == TraversalOrder.INORDER) {
+            tree.forEachAscending(visitor);
+        } else {
+            traverse(tree.root(), order, visitor);
+        }
+    }
+
+    // Method to choose how inorder and preorder walk TreeNode graphs (postorder and level order always use the stack)
+    public void setMode(TraversalMode mode) {
+        this.mode = mode;
+    }
+
+    public TraversalMode getMode() {
+        return mode;
+    }
+
+    // Inorder visitor: push the left spine, visit, then continue with the right subtree
+    public void inorder(TreeNode root, IntConsumer visitor) {
+        if (TreeStats.ENABLED) {
+            TreeStats.TraversalEvent event = beginStats(visitor);
+            inorderWalk(root, event);
+            TreeStats.endTraversal(event, TraversalOrder.INORDER, mode, peakDepth);
+            return;
+        }
+        inorderWalk(root, visitor);
+    }
+
+    private void inorderWalk(TreeNode root, IntConsumer visitor) {
+        if (mode == TraversalMode.MORRIS) {
+            morrisInorder(root, visitor);
+            return;
+        }
+        TreeNode[] stack = nodeBuffer;
+        int top = 0;
+        TreeNode current = root;
+        while (current != null || top > 0) {
+            while (current != null) {
+                if (top == stack.length) {
+                    stack = nodeBuffer = Arrays.copyOf(stack, top * 2);
+                }
+                stack[top++] = current;
+                current = current.left;
+                if (TreeStats.ENABLED && top > peakDepth) {
+                    peakDepth = top;
+                }
+            }
+            current = stack[--top];
+            visitor.accept(current.data);
+            current = current.right;
+        }
+        Arrays.fill(stack, null); // Do not keep visited nodes reachable
+    }
+
+    // Preorder visitor: visit, then push right before left so that left is handled first
+    public void preorder(TreeNode root, IntConsumer visitor) {
+        if (TreeStats.ENABLED) {
+            TreeStats.TraversalEvent event = beginStats(visitor);
+            preorderWalk(root, event);
+            TreeStats.endTraversal(event, TraversalOrder.PREORDER, mode, peakDepth);
+            return;
+        }
+        preorderWalk(root, visitor);
+    }
+
+    private void preorderWalk(TreeNode root, IntConsumer visitor) {
+        if (mode == TraversalMode.MORRIS) {
+            morrisPreorder(root, visitor);
+            return;
+        }
+        if (root == null) {
+            return;
+        }
+        TreeNode[] stack = nodeBuffer;
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            TreeNode current = stack[--top];
+            visitor.accept(current.data);
+            if (top + 2 > stack.length) {
+                stack = nodeBuffer = Arrays.copyOf(stack, stack.length * 2);
+            }
+            if (current.right != null) {
+                stack[top++] = current.right;
+            }
+            if (current.left != null) {
+                stack[top++] = current.left;
+            }
+            if (TreeStats.ENABLED && top > peakDepth) {
+                peakDepth = top;
+            }
+        }
+        Arrays.fill(stack, null);
+    }
+
+    // Postorder visitor: a node is visited once its right subtree has just been finished
+    public void postorder(TreeNode root, IntConsumer visitor) {
+        if (TreeStats.ENABLED) {
+            TreeStats.TraversalEvent event = beginStats(visitor);
+            postorderWalk(root, event);
+            TreeStats.endTraversal(event, TraversalOrder.POSTORDER, mode, peakDepth);
+            return;
+        }
+        postorderWalk(root, visitor);
+    }
+
+    private void postorderWalk(TreeNode root, IntConsumer visitor) {
+        TreeNode[] stack = nodeBuffer;
+        int top = 0;
+        TreeNode current = root;
+        TreeNode lastVisited = null;
+        while (current != null || top > 0) {
+            if (current != null) {
+                if (top == stack.length) {
+                    stack = nodeBuffer = Arrays.copyOf(stack, top * 2);
+                }
+                stack[top++] = current;
+                current = current.left;
+                if (TreeStats.ENABLED && top > peakDepth) {
+                    peakDepth = top;
+                }
+            } else {
+                TreeNode peek = stack[top - 1];
+                if (peek.right != null && lastVisited != peek.right) {
+                    current = peek.right;
+                } else {
+                    visitor.accept(peek.data);
+                    lastVisited = peek;
+                    top--;
+                }
+            }
+        }
+        Arrays.fill(stack, null);
+    }
+
+    // Morris inorder: thread each inorder predecessor's empty right pointer back to its successor,
+    // follow the thread instead of popping a stack, and remove it on the second arrival
+    static void morrisInorder(TreeNode root, IntConsumer visitor) {
+        RuntimeException failure = null;
+        TreeNode current = root;
+        while (current != null) {
+            if (current.left == null) {
+                failure = visitMorris(visitor, current, failure);
+                current = current.right;
+                continue;
+            }
+            TreeNode predecessor = rightmostBelow(current);
+            if (predecessor.right == null) {
+                predecessor.right = current; // Thread back to current
+                current = current.left;
+            } else {
+                predecessor.right = null; // Left subtree done, restore the pointer
+                failure = visitMorris(visitor, current, failure);
+                current = current.right;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Morris preorder: same threading as inorder, but a node is visited when its thread is created
+    static void morrisPreorder(TreeNode root, IntConsumer visitor) {
+        RuntimeException failure = null;
+        TreeNode current = root;
+        while (current != null) {
+            if (current.left == null) {
+                failure = visitMorris(visitor, current, failure);
+                current = current.right;
+                continue;
+            }
+            TreeNode predecessor = rightmostBelow(current);
+            if (predecessor.right == null) {
+                failure = visitMorris(visitor, current, failure);
+                predecessor.right = current;
+                current = current.left;
+            } else {
+                predecessor.right = null;
+                current = current.right;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Rightmost node of the left subtree, stopping at a thread that already points back to node
+    private static TreeNode rightmostBelow(TreeNode node) {
+        TreeNode predecessor = node.left;
+        while (predecessor.right != null && predecessor.right != node) {
+            predecessor = predecessor.right;
+        }
+        return predecessor;
+    }
+
+    // If the visitor throws, the walk keeps going without visiting so that every thread is removed,
+    // and the first failure is rethrown once the tree is back in its original shape
+    private static RuntimeException visitMorris(IntConsumer visitor, TreeNode node, RuntimeException failure) {
+        if (failure == null) {
+            try {
+                visitor.accept(node.data);
+            } catch (RuntimeException e) {
+                return e;
+            }
+        }
+        return failure;
+    }
+
+    // Level-order visitor on a circular array queue
+    public void levelOrder(TreeNode root, IntConsumer visitor) {
+        if (TreeStats.ENABLED) {
+            TreeStats.TraversalEvent event = beginStats(visitor);
+            levelOrderWalk(root, event);
+            TreeStats.endTraversal(event, TraversalOrder.LEVEL_ORDER, mode, peakDepth);
+            return;
+        }
+        levelOrderWalk(root, visitor);
+    }
+
+    private void levelOrderWalk(TreeNode root, IntConsumer visitor) {
+        if (root == null) {
+            return;
+        }
+        TreeNode[] queue = nodeBuffer;
+        int head = 0;
+        int count = 1;
+        queue[0] = root;
+        while (count > 0) {
+            TreeNode current = queue[head];
+            queue[head] = null;
+            head = (head + 1) & (queue.length - 1);
+            count--;
+            visitor.accept(current.data);
+            if (count + 2 > queue.length) {
+                queue = nodeBuffer = growQueue(queue, head, count);
+                head = 0;
+            }
+            if (current.left != null) {
+                queue[(head + count++) & (queue.length - 1)] = current.left;
+            }
+            if (current.right != null) {
+                queue[(head + count++) & (queue.length - 1)] = current.right;
+            }
+            if (TreeStats.ENABLED && count > peakDepth) {
+                peakDepth = count;
+            }
+        }
+    }
+
+    // Doubles a power-of-two circular queue, unwrapping its contents to start at index 0
+    private static TreeNode[] growQueue(TreeNode[] queue, int head, int count) {
+        TreeNode[] grown = new TreeNode[queue.length * 2];
+        for (int i = 0; i < count; i++) {
+            grown[i] = queue[(head + i) & (queue.length - 1)];
+        }
+        return grown;
+    }
+
+    // Traversals over array-backed trees, producing the same output as the TreeNode versions
+    public String inorder(ArrayTree tree) {
+        traversalPath.setLength(0); // Clear previous results
+        traverse(tree, TraversalOrder.INORDER, appendToPath);
+        return traversalPath.toString().trim();
+    }
+
+    public String preorder(ArrayTree tree) {
+        traversalPath.setLength(0); // Clear previous results
+        traverse(tree, TraversalOrder.PREORDER, appendToPath);
+        return traversalPath.toString().trim();
+    }
+
+    public String postorder(ArrayTree tree) {
+        traversalPath.setLength(0); // Clear previous results
+        traverse(tree, TraversalOrder.POSTORDER, appendToPath);
+        return traversalPath.toString().trim();
+    }
+
+    public String levelOrder(ArrayTree tree) {
+        traversalPath.setLength(0); // Clear previous results
+        traverse(tree, TraversalOrder.LEVEL_ORDER, appendToPath);
+        return traversalPath.toString().trim();
+    }
+
+    // Method to run any traversal over an array-backed tree and hand each key to the visitor
+    public void traverse(ArrayTree tree, TraversalOrder order, IntConsumer visitor) {
+        int[] keys = tree.keys;
+        traverseIndices(tree, order, node -> visitor.accept(keys[node]));
+    }
+
+    // Method to run any traversal over an array-backed tree and hand each node index to the visitor
+    public void traverseIndices(ArrayTree tree, TraversalOrder order, IntConsumer visitor) {
+        if (TreeStats.ENABLED) {
+            TreeStats.TraversalEvent event = beginStats(visitor);
+            traverseIndicesWalk(tree, order, event);
+            TreeStats.endTraversal(event, order, mode, peakDepth);
+            return;
+        }
+        traverseIndicesWalk(tree, order, visitor);
+    }
+
+    private void traverseIndicesWalk(ArrayTree tree, TraversalOrder order, IntConsumer visitor) {
+        if (tree.root == ArrayTree.NIL) {
+            return;
+        }
+        // Neither a stack nor the level-order queue ever holds more than size entries
+        if (indexBuffer.length < tree.size) {
+            indexBuffer = new int[tree.size];
+        }
+        int[] buffer = indexBuffer;
+        int[] left = tree.left;
+        int[] right = tree.right;
+        int top = 0;
+
+        switch (order) {
+            case INORDER: {
+                int current = tree.root;
+                while (current != ArrayTree.NIL || top > 0) {
+                    while (current != ArrayTree.NIL) {
+                        buffer[top++] = current;
+                        current = left[current];
+                    }
+                    if (TreeStats.ENABLED && top > peakDepth) {
+                        peakDepth = top;
+                    }
+                    current = buffer[--top];
+                    visitor.accept(current);
+                    current = right[current];
+                }
+                break;
+            }
+            case PREORDER: {
+                buffer[top++] = tree.root;
+                while (top > 0) {
+                    int current = buffer[--top];
+                    visitor.accept(current);
+                    if (right[current] != ArrayTree.NIL) {
+                        buffer[top++] = right[current];
+                    }
+                    if (left[current] != ArrayTree.NIL) {
+                        buffer[top++] = left[current];
+                    }
+                    if (TreeStats.ENABLED && top > peakDepth) {
+                        peakDepth = top;
+                    }
+                }
+                break;
+            }
+            case POSTORDER: {
+                int current = tree.root;
+                int lastVisited = ArrayTree.NIL;
+                while (current != ArrayTree.NIL || top > 0) {
+                    if (current != ArrayTree.NIL) {
+                        buffer[top++] = current;
+                        current = left[current];
+                        if (TreeStats.ENABLED && top > peakDepth) {
+                            peakDepth = top;
+                        }
+                    } else {
+                        int peek = buffer[top - 1];
+                        if (right[peek] != ArrayTree.NIL && lastVisited != right[peek]) {
+                            current = right[peek];
+                        } else {
+                            visitor.accept(peek);
+                            lastVisited = peek;
+                            top--;
+                        }
+                    }
+                }
+                break;
+            }
+            case LEVEL_ORDER: {
+                // Each node is queued exactly once, so a linear queue of size slots is enough
+                int head = 0;
+                buffer[top++] = tree.root;
+                while (head < top) {
+                    int current = buffer[head++];
+                    visitor.accept(current);
+                    if (left[current] != ArrayTree.NIL) {
+                        buffer[top++] = left[current];
+                    }
+                    if (right[current] != ArrayTree.NIL) {
+                        buffer[top++] = right[current];
+                    }
+                    if (TreeStats.ENABLED && top - head > peakDepth) {
+                        peakDepth = top - head;
+                    }
+                }
+                break;
+            }
+        }
+    }
+
+    // Method to run any traversal over an index-based tree, e.g. an OffHeapTree, and hand each key to
+    // the visitor. Same output as the ArrayTree version; the stack and queue start small and grow, so a
+    // tree far larger than the heap only costs heap for its depth, or its widest level in level order
+    public void traverse(IndexedTree tree, TraversalOrder order, IntConsumer visitor) {
+        if (TreeStats.ENABLED) {
+            TreeStats.TraversalEvent event = beginStats(visitor);
+            traverseIndexedWalk(tree, order, event);
+            TreeStats.endTraversal(event, order, mode, peakDepth);
+            return;
+        }
+        traverseIndexedWalk(tree, order, visitor);
+    }
+
+    private void traverseIndexedWalk(IndexedTree tree, TraversalOrder order, IntConsumer visitor) {
+        int root = tree.root();
+        if (root == ArrayTree.NIL) {
+            return;
+        }
+        int[] buffer = new int[64];
+        int top = 0;
+
+        switch (order) {
+            case INORDER: {
+                int current = root;
+                while (current != ArrayTree.NIL || top > 0) {
+                    while (current != ArrayTree.NIL) {
+                        if (top == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, top * 2);
+                        }
+                        buffer[top++] = current;
+                        current = tree.left(current);
+                    }
+                    if (TreeStats.ENABLED && top > peakDepth) {
+                        peakDepth = top;
+                    }
+                    current = buffer[--top];
+                    visitor.accept(tree.key(current));
+                    current = tree.right(current);
+                }
+                break;
+            }
+            case PREORDER: {
+                buffer[top++] = root;
+                while (top > 0) {
+                    int current = buffer[--top];
+                    visitor.accept(tree.key(current));
+                    if (top + 2 > buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
+                    int right = tree.right(current);
+                    int left = tree.left(current);
+                    if (right != ArrayTree.NIL) {
+                        buffer[top++] = right;
+                    }
+                    if (left != ArrayTree.NIL) {
+                        buffer[top++] = left;
+                    }
+                    if (TreeStats.ENABLED && top > peakDepth) {
+                        peakDepth = top;
+                    }
+                }
+                break;
+            }
+            case POSTORDER: {
+                int current = root;
+                int lastVisited = ArrayTree.NIL;
+                while (current != ArrayTree.NIL || top > 0) {
+                    if (current != ArrayTree.NIL) {
+                        if (top == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, top * 2);
+                        }
+                        buffer[top++] = current;
+                        current = tree.left(current);
+                        if (TreeStats.ENABLED && top > peakDepth) {
+                            peakDepth = top;
+                        }
+                    } else {
+                        int peek = buffer[top - 1];
+                        int right = tree.right(peek);
+                        if (right != ArrayTree.NIL && lastVisited != right) {
+                            current = right;
+                        } else {
+                            visitor.accept(tree.key(peek));
+                            lastVisited = peek;
+                            top--;
+                        }
+                    }
+                }
+                break;
+            }
+            case LEVEL_ORDER: {
+                // Power-of-two circular queue: head is the next node to visit, top counts queued nodes
+                int head = 0;
+                buffer[top++] = root;
+                while (top > 0) {
+                    int current = buffer[head];
+                    head = (head + 1) & (buffer.length - 1);
+                    top--;
+                    visitor.accept(tree.key(current));
+                    for (int side = 0; side < 2; side++) {
+                        int child = side == 0 ? tree.left(current) : tree.right(current);
+                        if (child == ArrayTree.NIL) {
+                            continue;
+                        }
+                        if (top == buffer.length) {
+                            int[] grown = new int[buffer.length * 2];
+                            for (int i = 0; i < top; i++) {
+                                grown[i] = buffer[(head + i) & (buffer.length - 1)];
+                            }
+                            buffer = grown;
+                            head = 0;
+                        }
+                        buffer[(head + top++) & (buffer.length - 1)] = child;
+                    }
+                    if (TreeStats.ENABLED && top > peakDepth) {
+                        peakDepth = top;
+                    }
+                }
+                break;
+            }
+        }
+    }
+
+    private TreeStats.TraversalEvent beginStats(IntConsumer visitor) {
+        peakDepth = 0;
+        return TreeStats.beginTraversal(visitor);
+    }
+
+    // Method to create a lazy iterator over the tree; it owns its stack, so several may run at once
+    public static PrimitiveIterator.OfInt iterator(TreeNode root, TraversalOrder order) {
+        return new NodeIterator(root, order);
+    }
+
+    // Pull-style traversal that keeps its position on an explicit stack (a queue for level order)
+    private static final class NodeIterator implements PrimitiveIterator.OfInt {
+        private final TraversalOrder order;
+        private TreeNode[] buffer = new TreeNode[16];
+        private int head; // Queue head, level order only
+        private int count; // Entries on the stack or in the queue
+        private TreeNode current; // Inorder/postorder cursor
+        private TreeNode lastVisited; // Postorder only
+
+        NodeIterator(TreeNode root, TraversalOrder order) {
+            this.order = order;
+            if (order == TraversalOrder.INORDER || order == TraversalOrder.POSTORDER) {
+                current = root;
+            } else if (root != null) {
+                buffer[count++] = root;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null || count > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            switch (order) {
+                case INORDER:
+                    return nextInorder();
+                case PREORDER:
+                    return nextPreorder();
+                case POSTORDER:
+                    return nextPostorder();
+                default:
+                    return nextLevelOrder();
+            }
+        }
+
+        private int nextInorder() {
+            while (current != null) {
+                push(current);
+                current = current.left;
+            }
+            TreeNode node = buffer[--count];
+            buffer[count] = null;
+            current = node.right;
+            return node.data;
+        }
+
+        private int nextPreorder() {
+            TreeNode node = buffer[--count];
+            buffer[count] = null;
+            if (node.right != null) {
+                push(node.right);
+            }
+            if (node.left != null) {
+                push(node.left);
+            }
+            return node.data;
+        }
+
+        private int nextPostorder() {
+            while (true) {
+                if (current != null) {
+                    push(current);
+                    current = current.left;
+                } else {
+                    TreeNode peek = buffer[count - 1];
+                    if (peek.right != null && lastVisited != peek.right) {
+                        current = peek.right;
+                    } else {
+                        buffer[--count] = null;
+                        lastVisited = peek;
+                        return peek.data;
+                    }
+                }
+            }
+        }
+
+        private int nextLevelOrder() {
+            TreeNode node = buffer[head];
+            buffer[head] = null;
+            head = (head + 1) & (buffer.length - 1);
+            count--;
+            if (count + 2 > buffer.length) {
+                buffer = growQueue(buffer, head, count);
+                head = 0;
+            }
+            if (node.left != null) {
+                buffer[(head + count++) & (buffer.length - 1)] = node.left;
+            }
+            if (node.right != null) {
+                buffer[(head + count++) & (buffer.length - 1)] = node.right;
+            }
+            return node.data;
+        }
+
+        private void push(TreeNode node) {
+            if (count == buffer.length) {
+                buffer = Arrays.copyOf(buffer, count * 2);
+            }
+            buffer[count++] = node;
+        }
+    }
+}
@@ -1,271 +1,86 @@
 package visualizer;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.*;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
-import javafx.util.Duration;
-
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.Queue;
-import java.util.TreeMap;
-
-// Tree node structure
-class TreeNode {
-    Integer data;
-    TreeNode left, right;
-
-    public TreeNode(Integer data) {
-        this.data = data;
-        left = right = null;
-    }
-}
-
-// Binary Tree class
-class BinaryTree {
-    TreeNode root;
-
-    public BinaryTree() {
-        root = null;
-    }
-
-    // Method to insert nodes in level order
-    public void insertLevelOrder(Integer[] nodes) {
-        if (nodes.length == 0) {
-            return;
-        }
-        Queue<TreeNode> queue = new LinkedList<>();
-        root = new TreeNode(nodes[0]);
-        queue.add(root);
-
-        int i = 1;
-        while (!queue.isEmpty() && i < nodes.length) {
-            TreeNode currentNode = queue.poll();
-
-            // Insert left child
-            if (i < nodes.length && nodes[i] != null) {
-                currentNode.left = new TreeNode(nodes[i]);
-                queue.add(currentNode.left);
-            }
-            i++;
-
-            // Insert right child
-            if (i < nodes.length && nodes[i] != null) {
-                currentNode.right = new TreeNode(nodes[i]);
-                queue.add(currentNode.right);
-            }
-            i++;
-        }
-    }
-}
-
-// Binary Search Tree class
-class BinarySearchTree {
-    TreeNode root;
-
-    public BinarySearchTree() {
-        root = null;
-    }
-
-    // Method to insert nodes in BST order and balance the tree (AVL balance)
-    public void insert(Integer data) {
-        root = insertRecursive(root, data);
-    }
-
-    private TreeNode insertRecursive(TreeNode root, Integer data) {
-        if (root == null) {
-            return new TreeNode(data);
-        }
-
-        // Insert data into the appropriate subtree
-        if (data < root.data) {
-            root.left = insertRecursive(root.left, data);
-        } else if (data > root.data) {
-            root.right = insertRecursive(root.right, data);
-        } else {
-            // Duplicate data insertion is not allowed in BST; handle as needed
-            return root;
-        }
-
-        // Update the height of this ancestor node
-        root = balance(root);
-
-        return root;
-    }
-
-    // Method to calculate the height of a node
-    private int height(TreeNode node) {
-        if (node == null) {
-            return 0;
-        }
-        return 1 + Math.max(height(node.left), height(node.right));
-    }
-
-    // Method to get the balance factor of a node
-    private int balanceFactor(TreeNode node) {
-        if (node == null) {
-            return 0;
-        }
-        return height(node.left) - height(node.right);
-    }
-
-    // Method to perform right rotation
-    private TreeNode rotateRight(TreeNode y) {
-        TreeNode x = y.left;
-        TreeNode T2 = x.right;
-
-        // Perform rotation
-        x.right = y;
-        y.left = T2;
-
-        return x;
-    }
-
-    // Method to perform left rotation
-    private TreeNode rotateLeft(TreeNode x) {
-        TreeNode y = x.right;
-        TreeNode T2 = y.left;
-
-        // Perform rotation
-        y.left = x;
-        x.right = T2;
-
-        return y;
-    }
-
-    // Method to balance the AVL tree
-    private TreeNode balance(TreeNode node) {
-        // Check the balance factor of the current node
-        int balanceFactor = balanceFactor(node);
-
-        // If the node becomes unbalanced, perform rotations
-        if (balanceFactor > 1 && balanceFactor(node.left) >= 0) {
-            return rotateRight(node);
-        }
-        if (balanceFactor > 1 && balanceFactor(node.left) < 0) {
-            node.left = rotateLeft(node.left);
-            return rotateRight(node);
-        }
-        if (balanceFactor < -1 && balanceFactor(node.right) <= 0) {
-            return rotateLeft(node);
-        }
-        if (balanceFactor < -1 && balanceFactor(node.right) > 0) {
-            node.right = rotateRight(node.right);
-            return rotateLeft(node);
-        }
-
-        // Return the unchanged node if balanced
-        return node;
-    }
-}
-
-
-// Class for tree traversal algorithms
-class TreeTraversal {
-    private StringBuilder traversalPath;
-
-    public TreeTraversal() {
-        traversalPath = new StringBuilder();
-    }
-
-    // Method to perform inorder traversal
-    public String inorder(TreeNode root) {
-        traversalPath.setLength(0); // Clear previous results
-        inorderRecursive(root);
-        return traversalPath.toString().trim();
-    }
 
-    private void inorderRecursive(TreeNode root) {
-        if (root != null) {
-            inorderRecursive(root.left);
-            traversalPath.append(root.data).append(" ");
-            inorderRecursive(root.right);
-        }
-    }
-
-    // Method to perform preorder traversal
-    public String preorder(TreeNode root) {
-        traversalPath.setLength(0); // Clear previous results
-        preorderRecursive(root);
-        return traversalPath.toString().trim();
-    }
-
-    private void preorderRecursive(TreeNode root) {
-        if (root != null) {
-            traversalPath.append(root.data).append(" ");
-            preorderRecursive(root.left);
-            preorderRecursive(root.right);
-        }
-    }
-
-    // Method to perform postorder traversal
-    public String postorder(TreeNode root) {
-        traversalPath.setLength(0); // Clear previous results
-        postorderRecursive(root);
-        return traversalPath.toString().trim();
-    }
-
-    private void postorderRecursive(TreeNode root) {
-        if (root != null) {
-            postorderRecursive(root.left);
-            postorderRecursive(root.right);
-            traversalPath.append(root.data).append(" ");
-        }
-    }
-
-    // Method to perform level-order traversal (Breadth-First Search)
-    public String levelOrder(TreeNode root) {
-        traversalPath.setLength(0); // Clear previous results
-
-        if (root == null) {
-            return "";
-        }
-
-        Queue<TreeNode> queue = new LinkedList<>();
-        queue.add(root);
-
-        while (!queue.isEmpty()) {
-            TreeNode current = queue.poll();
-            traversalPath.append(current.data).append(" ");
-
-            if (current.left != null) {
-                queue.add(current.left);
-            }
-            if (current.right != null) {
-                queue.add(current.right);
-            }
-        }
-
-        return traversalPath.toString().trim();
-    }
-}
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
 
 // JavaFX application class for visualization
 public class TreeTraversalVisualization extends Application {
 
     private CheckBox bstModeCheckbox;
+    private CheckBox morrisModeCheckbox;
+    private CheckBox persistentModeCheckbox;
     private BinaryTree binaryTree;
-    private BinarySearchTree binarySearchTree;
+    private OrderedIntTree searchTree; // Tree shown in BST mode, built by the selected engine
+    private ComboBox<OrderedIntTree.Engine> engineComboBox;
+    private PersistentBinarySearchTree.History versions; // Versions shown in persistent BST mode
+    private Button undoButton;
+    private Button redoButton;
     private TreeTraversal traversal;
     private GraphicsContext gc;
-    private Timeline animation;
-    private TextArea resultTextArea; // TextArea object to display traversal result
+    private AnimationTimer animation;
+    private Label resultTitleLabel; // What the result rows below show, or a message
+    private ResultRowsView resultRows; // Traversal or view result, rendered only where visible
+
+    // Layout of the tree on the canvas, the one the traversal that drew it was prepared with.
+    // Layouts are only computed on the worker; pan and zoom redraw this one
+    private TreeLayout treeLayout;
+
+    // Viewport: screen = layout * zoom + pan
+    private double panX = 400;
+    private double panY = 50;
+    private double zoom = 1;
+    private double dragStartX;
+    private double dragStartY;
+    private boolean showingTree; // False while a view result is drawn instead of the tree
+    private int highlightedNode = ArrayTree.NIL; // Layout id of the node highlighted by the animation
+
+    // Tree building, traversals and views run on this worker so that the UI stays responsive.
+    // A single thread means jobs never overlap (a Morris traversal rewires the tree while it runs)
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tree-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> currentJob;
+    private static final int PROGRESS_INTERVAL = (1 << 16) - 1; // Nodes between cancellation checks, minus one
+    private long jobGeneration; // Only the latest job may publish its result (FX thread only)
+    private long runningGeneration; // Generation of the job the worker is running (worker thread only)
+    private ProgressBar progressBar;
+    private Label statusLabel;
+    private Label statsLabel; // TreeStats counters, refreshed whenever a job finishes
+    // Traversal results, layouts and views per tree version, shared by the FX thread and the worker
+    private final ResultCache resultCache = new ResultCache(64, 4_000_000);
+    private String typedInput; // Text the tree in typedTree was built from by "Visualize Traversal"
+    private Object typedTree;
 
     @Override
     public void start(Stage primaryStage) {
         binaryTree = new BinaryTree();
-        binarySearchTree = new BinarySearchTree();
+        searchTree = new BinarySearchTree();
+        versions = new PersistentBinarySearchTree.History();
         traversal = new TreeTraversal();
 
         primaryStage.setTitle("Binary Tree Traversal Visualization");
@@ -277,6 +92,25 @@ public class TreeTraversalVisualization extends Application {
         Canvas canvas = new Canvas(800, 600);
         gc = canvas.getGraphicsContext2D();
 
+        // Drag to pan, scroll to zoom around the mouse pointer
+        canvas.setOnMousePressed(event -> {
+            dragStartX = event.getX() - panX;
+            dragStartY = event.getY() - panY;
+        });
+        canvas.setOnMouseDragged(event -> {
+            panX = event.getX() - dragStartX;
+            panY = event.getY() - dragStartY;
+            redrawTree();
+        });
+        canvas.setOnScroll(event -> {
+            double factor = event.getDeltaY() > 0 ? 1.25 : 0.8;
+            double newZoom = Math.max(0.02, Math.min(zoom * factor, 4));
+            panX = event.getX() - (event.getX() - panX) * newZoom / zoom;
+            panY = event.getY() - (event.getY() - panY) * newZoom / zoom;
+            zoom = newZoom;
+            redrawTree();
+        });
+
         // Control Panel
         VBox controlsBox = new VBox(15);
         controlsBox.setPadding(new Insets(20));
@@ -293,8 +127,28 @@ public class TreeTraversalVisualization extends Application {
         traversalComboBox.setStyle("-fx-font-size: 14px;");
         bstModeCheckbox = new CheckBox("Binary Search Tree Mode");
         bstModeCheckbox.setStyle("-fx-font-size: 14px; -fx-text-fill: #ecf0f1;");
+        morrisModeCheckbox = new CheckBox("Morris Traversal (O(1) memory)");
+        morrisModeCheckbox.setStyle("-fx-font-size: 14px; -fx-text-fill: #ecf0f1;");
+        // Balancing scheme for BST mode; persistent versions are always path-copying AVL trees
+        engineComboBox = new ComboBox<>();
+        engineComboBox.getItems().addAll(OrderedIntTree.Engine.values());
+        engineComboBox.setValue(OrderedIntTree.Engine.AVL);
+        engineComboBox.setStyle("-fx-font-size: 14px;");
+        persistentModeCheckbox = new CheckBox("Keep BST Versions (undo/redo)");
+        persistentModeCheckbox.setStyle("-fx-font-size: 14px; -fx-text-fill: #ecf0f1;");
         Button visualizeButton = new Button("Visualize Traversal");
         visualizeButton.setStyle("-fx-background-color: #e74c3c; -fx-text-fill: white; -fx-font-size: 14px;");
+        Button loadFileButton = new Button("Load From File...");
+        loadFileButton.setStyle("-fx-background-color: #e74c3c; -fx-text-fill: white; -fx-font-size: 14px;");
+        Button saveSnapshotButton = new Button("Save Snapshot...");
+        saveSnapshotButton.setStyle("-fx-background-color: #e74c3c; -fx-text-fill: white; -fx-font-size: 14px;");
+        Button loadSnapshotButton = new Button("Load Snapshot...");
+        loadSnapshotButton.setStyle("-fx-background-color: #e74c3c; -fx-text-fill: white; -fx-font-size: 14px;");
+        undoButton = new Button("Undo");
+        undoButton.setStyle("-fx-background-color: #e74c3c; -fx-text-fill: white; -fx-font-size: 14px;");
+        redoButton = new Button("Redo");
+        redoButton.setStyle("-fx-background-color: #e74c3c; -fx-text-fill: white; -fx-font-size: 14px;");
+        HBox historyBox = new HBox(10, undoButton, redoButton);
 
         // New buttons for additional features
         Button topViewButton = new Button("Top View");
@@ -308,17 +162,32 @@ public class TreeTraversalVisualization extends Application {
         Button boundaryTraversalButton = new Button("Boundary Traversal");
         boundaryTraversalButton.setStyle("-fx-background-color: #3498db; -fx-text-fill: white; -fx-font-size: 14px;");
 
-        // TextArea for displaying traversal result
-        resultTextArea = new TextArea();
-        resultTextArea.setEditable(false);
-        resultTextArea.setStyle("-fx-font-size: 14px; -fx-text-fill: #ecf0f1; -fx-control-inner-background: #34495e;");
-        resultTextArea.setWrapText(true);
-        resultTextArea.setPrefHeight(100);
+        // Title and virtualized rows for displaying the traversal result
+        resultTitleLabel = new Label();
+        resultTitleLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: #ecf0f1;");
+        resultTitleLabel.setWrapText(true);
+        resultRows = new ResultRowsView();
+        resultRows.list.setStyle("-fx-font-size: 14px; -fx-control-inner-background: #34495e;");
+        resultRows.list.setPrefHeight(100);
+        Button exportButton = new Button("Export Result...");
+        exportButton.setStyle("-fx-background-color: #3498db; -fx-text-fill: white; -fx-font-size: 14px;");
+
+        // Progress of the background job
+        progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(260);
+        statusLabel = new Label("Ready");
+        statusLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #ecf0f1;");
+        statsLabel = new Label(statsText());
+        statsLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #bdc3c7;");
+        statsLabel.setWrapText(true);
 
         controlsBox.getChildren().addAll(
-                inputLabel, nodeInputField, traversalComboBox, bstModeCheckbox,
-                visualizeButton, topViewButton, bottomViewButton, rightViewButton,
-                leftViewButton, boundaryTraversalButton, resultTextArea);
+                inputLabel, nodeInputField, traversalComboBox, bstModeCheckbox, engineComboBox, morrisModeCheckbox,
+                persistentModeCheckbox, visualizeButton, loadFileButton, saveSnapshotButton, loadSnapshotButton,
+                historyBox,
+                topViewButton, bottomViewButton, rightViewButton, leftViewButton, boundaryTraversalButton, resultTitleLabel,
+                resultRows.list, exportButton,
+                progressBar, statusLabel, statsLabel);
 
         mainLayout.setLeft(controlsBox);
         mainLayout.setCenter(canvas);
@@ -329,126 +198,407 @@ public class TreeTraversalVisualization extends Application {
 
         // Button action for Visualize Traversal
         visualizeButton.setOnAction(event -> {
-            try {
-                String input = nodeInputField.getText().trim();
-                if (!input.isEmpty()) {
-                    String[] nodesStr = input.split(",");
-                    Integer[] nodes = new Integer[nodesStr.length];
-                    for (int i = 0; i < nodesStr.length; i++) {
-                        nodes[i] = nodesStr[i].trim().isEmpty() ? null : Integer.parseInt(nodesStr[i].trim());
-                    }
+            String input = nodeInputField.getText().trim();
+            if (!input.isEmpty()) {
+                if (persistentMode()) {
+                    // Insert into a new version of the current tree
+                    PersistentBinarySearchTree base = versions.current();
+                    buildAndVisualize("Inserting", traversalComboBox.getValue(), () -> {
+                        PersistentBinarySearchTree[] version = {base};
+                        TreeFileLoader.parse(input, cancellable(
+                                TreeFileLoader.valueSink(value -> version[0] = version[0].insert(value))));
+                        return version[0];
+                    });
+                } else if (input.equals(typedInput) && currentTree() == typedTree) {
+                    // Same nodes as the tree on screen: reuse it, so the cached results apply
+                    Object tree = typedTree;
+                    buildAndVisualize("Traversing", traversalComboBox.getValue(), () -> tree);
+                } else if (bstModeCheckbox.isSelected()) {
+                    // Insert into Binary Search Tree
+                    OrderedIntTree.Engine engine = engineComboBox.getValue();
+                    buildAndVisualize("Building tree", traversalComboBox.getValue(), input, () -> {
+                        TreeFileLoader.ValueBuffer values = new TreeFileLoader.ValueBuffer();
+                        TreeFileLoader.parse(input, cancellable(values));
+                        OrderedIntTree tree = engine.create();
+                        tree.insertAll(values.toArray());
+                        return tree;
+                    });
+                } else {
+                    // Insert into Binary Tree
+                    buildAndVisualize("Building tree", traversalComboBox.getValue(), input, () -> {
+                        BinaryTree tree = new BinaryTree();
+                        TreeFileLoader.parse(input, cancellable(tree.levelOrderBuilder()));
+                        return tree;
+                    });
+                }
+            }
+        });
 
-                    if (bstModeCheckbox.isSelected()) {
-                        // Insert into Binary Search Tree
-                        binarySearchTree = new BinarySearchTree();
-                        for (Integer node : nodes) {
-                            if (node != null) {
-                                binarySearchTree.insert(node);
-                            }
+        // Button action for loading large node lists from a file
+        loadFileButton.setOnAction(event -> {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Load Nodes (level order, or insertion order in BST mode)");
+            File file = fileChooser.showOpenDialog(primaryStage);
+            if (file == null) {
+                return;
+            }
+            if (persistentMode()) {
+                buildAndVisualize("Loading " + file.getName(), traversalComboBox.getValue(), () -> {
+                    TreeFileLoader.ValueBuffer values = new TreeFileLoader.ValueBuffer();
+                    TreeFileLoader.load(file.toPath(), cancellable(values));
+                    BinarySearchTree tree = new BinarySearchTree();
+                    tree.insertAll(values.toArray());
+                    return PersistentBinarySearchTree.of(tree);
+                });
+            } else if (bstModeCheckbox.isSelected()) {
+                OrderedIntTree.Engine engine = engineComboBox.getValue();
+                buildAndVisualize("Loading " + file.getName(), traversalComboBox.getValue(), () -> {
+                    TreeFileLoader.ValueBuffer values = new TreeFileLoader.ValueBuffer();
+                    TreeFileLoader.load(file.toPath(), cancellable(values));
+                    OrderedIntTree tree = engine.create();
+                    tree.insertAll(values.toArray());
+                    return tree;
+                });
+            } else {
+                buildAndVisualize("Loading " + file.getName(), traversalComboBox.getValue(), () -> {
+                    BinaryTree tree = new BinaryTree();
+                    TreeFileLoader.load(file.toPath(), cancellable(tree.levelOrderBuilder()));
+                    return tree;
+                });
+            }
+        });
+
+        // Button actions for binary snapshots of the current tree
+        saveSnapshotButton.setOnAction(event -> {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Save Tree Snapshot");
+            fileChooser.setInitialFileName(bstModeCheckbox.isSelected() ? "bst.tree" : "tree.tree");
+            File file = fileChooser.showSaveDialog(primaryStage);
+            if (file == null) {
+                return;
+            }
+            Object tree = currentTree();
+            runInBackground("Saving " + file.getName(), () -> {
+                if (tree instanceof PersistentBinarySearchTree) {
+                    TreeSnapshot.save((PersistentBinarySearchTree) tree, file.toPath());
+                } else if (tree instanceof OrderedIntTree) {
+                    TreeSnapshot.save((OrderedIntTree) tree, file.toPath());
+                } else {
+                    TreeSnapshot.save((BinaryTree) tree, file.toPath());
+                }
+                return file;
+            }, saved -> showMessage("Snapshot saved to " + saved.getName()));
+        });
+
+        loadSnapshotButton.setOnAction(event -> {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Load Tree Snapshot");
+            File file = fileChooser.showOpenDialog(primaryStage);
+            if (file == null) {
+                return;
+            }
+            if (persistentMode()) {
+                buildAndVisualize("Loading " + file.getName(), traversalComboBox.getValue(),
+                        () -> PersistentBinarySearchTree.of(TreeSnapshot.loadBinarySearchTree(file.toPath())));
+            } else if (bstModeCheckbox.isSelected()) {
+                OrderedIntTree.Engine engine = engineComboBox.getValue();
+                buildAndVisualize("Loading " + file.getName(), traversalComboBox.getValue(),
+                        () -> TreeSnapshot.loadOrderedTree(file.toPath(), engine));
+            } else {
+                buildAndVisualize("Loading " + file.getName(), traversalComboBox.getValue(),
+                        () -> TreeSnapshot.loadBinaryTree(file.toPath()));
+            }
+        });
+
+        // Button action for writing the shown result to a file, one value per line, in chunks
+        exportButton.setOnAction(event -> {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Export Result");
+            fileChooser.setInitialFileName("result.txt");
+            File file = fileChooser.showSaveDialog(primaryStage);
+            if (file == null) {
+                return;
+            }
+            IntUnaryOperator values = resultRows.values();
+            int count = resultRows.count();
+            runInBackground("Exporting " + file.getName(), () -> {
+                try (IntWriter writer = new IntWriter(Files.newOutputStream(file.toPath()))) {
+                    for (int i = 0; i < count; i++) {
+                        if ((i & PROGRESS_INTERVAL) == PROGRESS_INTERVAL) {
+                            checkCancelled();
+                            reportProgress(String.format("Exported %,d of %,d values...", i, count));
                         }
-                        visualizeTraversal(traversalComboBox.getValue(), binarySearchTree.root);
-                    } else {
-                        // Insert into Binary Tree
-                        binaryTree.insertLevelOrder(nodes);
-                        visualizeTraversal(traversalComboBox.getValue(), binaryTree.root);
+                        writer.accept(values.applyAsInt(i));
                     }
                 }
-            } catch (NumberFormatException e) {
-                System.out.println("Invalid input. Please enter integers separated by commas.");
-            }
+                return file;
+            }, exported -> statusLabel.setText(String.format("Exported %,d values to %s", count, exported.getName())));
+        });
+
+        // Button actions for moving through the persistent versions; nothing is rebuilt
+        undoButton.setOnAction(event -> {
+            versions.undo();
+            showCurrentVersion(traversalComboBox.getValue());
         });
 
+        redoButton.setOnAction(event -> {
+            versions.redo();
+            showCurrentVersion(traversalComboBox.getValue());
+        });
+
+        bstModeCheckbox.setOnAction(event -> updateHistoryButtons());
+        // A different engine builds a different tree, so the typed nodes must be inserted again
+        engineComboBox.setOnAction(event -> typedInput = null);
+        persistentModeCheckbox.setOnAction(event -> updateHistoryButtons());
+        updateHistoryButtons();
+
         // Button actions for additional features
         topViewButton.setOnAction(event -> {
-            visualizeTopView(bstModeCheckbox.isSelected() ? binarySearchTree.root : binaryTree.root);
+            visualizeView(TreeViews.View.TOP, currentTree(), 400, 50, 50, 0);
         });
 
         bottomViewButton.setOnAction(event -> {
-            visualizeBottomView(bstModeCheckbox.isSelected() ? binarySearchTree.root : binaryTree.root);
+            visualizeView(TreeViews.View.BOTTOM, currentTree(), 400, 500, 50, 0);
         });
 
         rightViewButton.setOnAction(event -> {
-            visualizeRightView(bstModeCheckbox.isSelected() ? binarySearchTree.root : binaryTree.root);
+            visualizeView(TreeViews.View.RIGHT, currentTree(), 750, 300, 0, 50);
         });
 
         leftViewButton.setOnAction(event -> {
-            visualizeLeftView(bstModeCheckbox.isSelected() ? binarySearchTree.root : binaryTree.root);
+            visualizeView(TreeViews.View.LEFT, currentTree(), 50, 300, 0, 50);
         });
 
         boundaryTraversalButton.setOnAction(event -> {
-            visualizeBoundaryTraversal(bstModeCheckbox.isSelected() ? binarySearchTree.root : binaryTree.root);
+            visualizeView(TreeViews.View.BOUNDARY, currentTree(), 400, 50, 50, 0);
         });
     }
 
-    private void visualizeTraversal(String traversalType, TreeNode root) {
-        gc.clearRect(0, 0, 800, 600);
+    @Override
+    public void stop() {
+        worker.shutdownNow();
+    }
 
-        String traversalResult = "";
-
-        switch (traversalType) {
-            case "Inorder":
-                traversalResult = traversal.inorder(root);
-                resultTextArea.setText("Inorder Traversal Result:\n" + traversalResult);
-                break;
-            case "Preorder":
-                traversalResult = traversal.preorder(root);
-                resultTextArea.setText("Preorder Traversal Result:\n" + traversalResult);
-                break;
-            case "Postorder":
-                traversalResult = traversal.postorder(root);
-                resultTextArea.setText("Postorder Traversal Result:\n" + traversalResult);
-                break;
-            case "Level-order":
-                traversalResult = traversal.levelOrder(root);
-                resultTextArea.setText("Level-order Traversal Result:\n" + traversalResult);
-                break;
+    // Runs work on the worker thread and publishes its result on the FX thread. Starting a job
+    // cancels the previous one; a job that was superseded never publishes
+    private <T> void runInBackground(String description, Callable<T> work, Consumer<T> publish) {
+        if (currentJob != null) {
+            currentJob.cancel(true);
         }
+        long generation = ++jobGeneration;
+        progressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+        statusLabel.setText(description + "...");
 
-        animateTraversal(traversalResult);
+        currentJob = worker.submit(() -> {
+            runningGeneration = generation;
+            boolean reported = false;
+            try {
+                T result = work.call();
+                Platform.runLater(() -> {
+                    if (generation == jobGeneration) {
+                        progressBar.setProgress(1);
+                        statusLabel.setText(description + ": done");
+                        statsLabel.setText(statsText());
+                        publish.accept(result);
+                    }
+                });
+                reported = true;
+            } catch (CancellationException e) {
+                reported = true; // Superseded by a newer job, which owns the status line
+            } catch (Throwable e) {
+                // Errors too: an OutOfMemoryError from a huge tree must not leave the UI busy
+                reportFailure(generation, description, e instanceof NumberFormatException
+                        ? "Invalid input. Please enter integers separated by commas.\n" + e.getMessage()
+                        : e.toString());
+                reported = true;
+                if (e instanceof VirtualMachineError && !(e instanceof OutOfMemoryError)
+                        && !(e instanceof StackOverflowError)) {
+                    throw (VirtualMachineError) e; // Not recoverable, but the UI is reset first
+                }
+            } finally {
+                if (!reported) {
+                    // Reporting itself failed, e.g. no memory left for the message
+                    reportFailure(generation, description, "Background job failed");
+                }
+            }
+        });
     }
- // Method to visualize Top View
-    private void visualizeTopView(TreeNode root) {
-        gc.clearRect(0, 0, 800, 600);
 
-        if (root == null) {
-            resultTextArea.setText("Top View: Tree is empty");
-            return;
-        }
-
-        Map<Integer, Integer> topViewMap = new TreeMap<>();
-        Queue<TreeNode> queue = new LinkedList<>();
-        Queue<Integer> levelQueue = new LinkedList<>();
+    // Posts a job's failure: the progress bar and status go back to idle and the message is shown
+    private void reportFailure(long generation, String description, String message) {
+        Platform.runLater(() -> {
+            if (generation == jobGeneration) {
+                progressBar.setProgress(0);
+                statusLabel.setText(description + ": failed");
+                statsLabel.setText(statsText());
+                showMessage(message);
+            }
+        });
+    }
 
-        queue.add(root);
-        levelQueue.add(0);
+    // Posts a progress message from the worker, unless its job has been superseded
+    private void reportProgress(String message) {
+        long generation = runningGeneration;
+        Platform.runLater(() -> {
+            if (generation == jobGeneration) {
+                statusLabel.setText(message);
+            }
+        });
+    }
 
-        while (!queue.isEmpty()) {
-            TreeNode current = queue.poll();
-            int level = levelQueue.poll();
+    // Wraps a node sink so that a cancelled job stops within a few thousand nodes, and reports
+    // how many nodes have been read
+    private TreeFileLoader.NodeSink cancellable(TreeFileLoader.NodeSink sink) {
+        return new TreeFileLoader.NodeSink() {
+            private long count;
 
-            if (!topViewMap.containsKey(level)) {
-                topViewMap.put(level, current.data);
+            @Override
+            public void node(int value) {
+                tick();
+                sink.node(value);
             }
 
-            if (current.left != null) {
-                queue.add(current.left);
-                levelQueue.add(level - 1);
+            @Override
+            public void missing() {
+                tick();
+                sink.missing();
             }
 
-            if (current.right != null) {
-                queue.add(current.right);
-                levelQueue.add(level + 1);
+            private void tick() {
+                if ((++count & PROGRESS_INTERVAL) == 0) {
+                    checkCancelled();
+                    reportProgress(String.format("Read %,d nodes...", count));
+                }
             }
+        };
+    }
+
+    private static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException();
         }
+    }
 
-        resultTextArea.setText("Top View:");
-        double x = 400; // starting x position
-        double y = 50; // starting y position
+    // Builds a tree on the worker, traverses and lays it out there too, then shows the result.
+    // Persistent versions share nodes, so they are never walked with Morris traversal
+    private void buildAndVisualize(String description, String traversalType, Callable<Object> build) {
+        buildAndVisualize(description, traversalType, null, build);
+    }
+
+    // Same, remembering the typed input the tree is built from so that an unchanged input can reuse it
+    private void buildAndVisualize(String description, String traversalType, String input, Callable<Object> build) {
+        TraversalOrder order = TraversalOrder.fromLabel(traversalType);
+        TraversalMode mode = morrisModeCheckbox.isSelected() && !persistentMode()
+                ? TraversalMode.MORRIS : TraversalMode.STACK;
+        runInBackground(description, () -> prepareTraversal(build.call(), order, mode), prepared -> {
+            showTraversal(prepared);
+            if (input != null) {
+                typedInput = input;
+                typedTree = prepared.tree;
+            }
+        });
+    }
 
-        for (Map.Entry<Integer, Integer> entry : topViewMap.entrySet()) {
-            drawTreePosition(x, y, entry.getValue().toString());
-            x += 50; // spacing between nodes
+    // Everything the FX thread needs to show a traversal, computed on the worker
+    private static final class PreparedTraversal {
+        Object tree; // BinaryTree, OrderedIntTree or a pinned PersistentBinarySearchTree version
+        TraversalOrder order;
+        int[] values; // Keys in visiting order
+        TreeLayout layout;
+        int[] sequence; // Layout node ids in visiting order
+    }
+
+    // Reuses the cached result for this tree version and order if there is one. Morris and stack
+    // traversal visit the same nodes, so the mode is not part of the key
+    private PreparedTraversal prepareTraversal(Object tree, TraversalOrder order, TraversalMode mode)
+            throws Exception {
+        int version = versionOf(tree);
+        long generation = resultCache.generation();
+        PreparedTraversal cached = resultCache.get(tree, version, order, PreparedTraversal.class);
+        if (cached != null) {
+            return cached;
+        }
+        PreparedTraversal prepared = new PreparedTraversal();
+        prepared.tree = tree;
+        prepared.order = order;
+
+        reportProgress("Laying out...");
+        prepared.layout = resultCache.computeIfAbsent(tree, version, TreeLayout.class, TreeLayout.class,
+                layout -> layout.size, () -> TreeLayout.compute(rootOf(tree)));
+        checkCancelled();
+
+        reportProgress("Traversing...");
+        int[] values = new int[prepared.layout.size];
+        int[] count = new int[1];
+        IntConsumer collect = value -> {
+            if ((count[0] & PROGRESS_INTERVAL) == PROGRESS_INTERVAL) {
+                checkCancelled();
+            }
+            values[count[0]++] = value;
+        };
+        traversal.setMode(mode);
+        if (tree instanceof OrderedIntTree) {
+            traversal.traverse((OrderedIntTree) tree, order, collect);
+        } else {
+            traversal.traverse(rootOf(tree), order, collect);
         }
+        prepared.values = values;
+        prepared.sequence = new int[prepared.layout.size];
+        int[] step = new int[1];
+        traversal.traverseIndices(prepared.layout.tree, order, node -> prepared.sequence[step[0]++] = node);
+        resultCache.put(tree, version, order, prepared, prepared.layout.size, generation);
+        return prepared;
+    }
+
+    private void showTraversal(PreparedTraversal prepared) {
+        String title = prepared.order.label + " Traversal Result";
+        if (prepared.tree instanceof PersistentBinarySearchTree) {
+            if (prepared.tree != versions.current()) {
+                versions.push((PersistentBinarySearchTree) prepared.tree);
+            }
+            updateHistoryButtons();
+            title += " (version " + versions.position() + " of " + (versions.size() - 1) + ")";
+        } else if (prepared.tree instanceof OrderedIntTree) {
+            if (searchTree != prepared.tree) {
+                resultCache.invalidate(searchTree);
+            }
+            searchTree = (OrderedIntTree) prepared.tree;
+        } else {
+            if (binaryTree != prepared.tree) {
+                resultCache.invalidate(binaryTree);
+            }
+            binaryTree = (BinaryTree) prepared.tree;
+        }
+        installLayout(prepared.layout);
+
+        clearCanvas();
+        resultTitleLabel.setText(String.format("%s: %,d values", title, prepared.values.length));
+        resultRows.show(prepared.values);
+        animateTraversal(prepared.layout, prepared.sequence);
+    }
+
+    // Computes a view on the worker, or takes it from the cache, and draws its nodes in a row or
+    // column starting at (x, y). The root is fetched on the worker too, since a red-black or B-tree
+    // engine builds its TreeNode form on first use
+    private void visualizeView(TreeViews.View view, Object tree, double x, double y, double dx, double dy) {
+        int version = versionOf(tree);
+        runInBackground("Computing " + view.label, () -> resultCache.computeIfAbsent(tree, version, view,
+                int[].class, values -> values.length, () -> TreeViews.compute(rootOf(tree), view)), values -> {
+            clearCanvas();
+            if (values.length == 0) { // Every view of a non-empty tree has at least the root
+                showMessage(view.label + ": Tree is empty");
+                return;
+            }
+            resultTitleLabel.setText(view.label + ":");
+            resultRows.show(values);
+            double nodeX = x;
+            double nodeY = y;
+            for (int value : values) {
+                drawTreePosition(nodeX, nodeY, Integer.toString(value));
+                nodeX += dx; // spacing between nodes
+                nodeY += dy;
+            }
+        });
     }
 
     // Helper method to draw tree nodes
@@ -462,246 +612,180 @@ public class TreeTraversalVisualization extends Application {
         gc.fillText(nodeValue, x + 10, y + 18);
     }
 
- // Method to visualize Bottom View
-    private void visualizeBottomView(TreeNode root) {
-        gc.clearRect(0, 0, 800, 600);
-
-        if (root == null) {
-            resultTextArea.setText("Bottom View: Tree is empty");
-            return;
+    // Steps through the traversal one node per second. The visiting order is precomputed as layout
+    // node ids of the given layout, and each step repaints only the previously and the newly
+    // highlighted node
+    private void animateTraversal(TreeLayout layout, int[] sequence) {
+        if (animation != null) {
+            animation.stop();
         }
 
-        Map<Integer, Integer> bottomViewMap = new TreeMap<>();
-        Queue<TreeNode> queue = new LinkedList<>();
-        Queue<Integer> levelQueue = new LinkedList<>();
-
-        queue.add(root);
-        levelQueue.add(0);
+        highlightedNode = ArrayTree.NIL;
+        drawTree(layout);
 
-        while (!queue.isEmpty()) {
-            TreeNode current = queue.poll();
-            int level = levelQueue.poll();
-
-            bottomViewMap.put(level, current.data);
-
-            if (current.left != null) {
-                queue.add(current.left);
-                levelQueue.add(level - 1);
-            }
+        animation = new AnimationTimer() {
+            private static final long STEP_NANOS = 1_000_000_000L;
+            private long nextStepAt = -1;
+            private int step;
 
-            if (current.right != null) {
-                queue.add(current.right);
-                levelQueue.add(level + 1);
+            @Override
+            public void handle(long now) {
+                if (nextStepAt < 0) {
+                    nextStepAt = now + STEP_NANOS;
+                }
+                if (now < nextStepAt) {
+                    return;
+                }
+                if (step == sequence.length) {
+                    stop(); // The last node stays highlighted
+                    return;
+                }
+                int previous = highlightedNode;
+                highlightedNode = sequence[step++];
+                nextStepAt += STEP_NANOS;
+                repaintNode(layout, previous);
+                repaintNode(layout, highlightedNode);
             }
-        }
-
-        resultTextArea.setText("Bottom View:");
-        double x = 400; // starting x position
-        double y = 500; // starting y position
-
-        for (Map.Entry<Integer, Integer> entry : bottomViewMap.entrySet()) {
-            drawTreePosition(x, y, entry.getValue().toString());
-            x += 50; // spacing between nodes
-        }
+        };
+        animation.start();
     }
 
+    // Shows a message in place of a result
+    private void showMessage(String message) {
+        resultTitleLabel.setText(message);
+        resultRows.clear();
+    }
 
-    private void animateTraversal(String traversalResult) {
+    private void clearCanvas() {
         if (animation != null) {
-           
             animation.stop();
         }
-
-        animation = new Timeline();
-        animation.setCycleCount(traversalResult.split(" ").length);
-        String[] nodes = traversalResult.split(" ");
-        for (int i = 0; i < nodes.length; i++) {
-            final int index = i;
-            KeyFrame frame = new KeyFrame(Duration.seconds(i + 1), event -> {
-                gc.clearRect(0, 0, 800, 600);
-                if (bstModeCheckbox.isSelected()) {
-                    drawTree(binarySearchTree.root, 400, 50, 200, nodes[index]);
-                } else {
-                    drawTree(binaryTree.root, 400, 50, 200, nodes[index]);
-                }
-            });
-            animation.getKeyFrames().add(frame);
-        }
-        animation.play();
-    }
- // Method to visualize Right View
-    private void visualizeRightView(TreeNode root) {
         gc.clearRect(0, 0, 800, 600);
-
-        if (root == null) {
-            resultTextArea.setText("Right View: Tree is empty");
-            return;
-        }
-
-        Map<Integer, Integer> rightViewMap = new TreeMap<>();
-        visualizeRightViewRecursive(root, rightViewMap, 0);
-
-        resultTextArea.setText("Right View:");
-        double x = 750; // starting x position
-        double y = 300; // starting y position
-
-        for (Map.Entry<Integer, Integer> entry : rightViewMap.entrySet()) {
-            drawTreePosition(x, y, entry.getValue().toString());
-            y += 50; // spacing between nodes
-        }
+        showingTree = false;
     }
 
-    // Helper method for recursive traversal to get Right View
-    private void visualizeRightViewRecursive(TreeNode node, Map<Integer, Integer> rightViewMap, int level) {
-        if (node == null) {
-            return;
-        }
-
-        rightViewMap.put(level, node.data);
-
-        visualizeRightViewRecursive(node.left, rightViewMap, level + 1);
-        visualizeRightViewRecursive(node.right, rightViewMap, level + 1);
+    private String statsText() {
+        return TreeStats.summary() + "\n" + resultCache.summary();
     }
 
- // Method to visualize Left View
-    private void visualizeLeftView(TreeNode root) {
-        gc.clearRect(0, 0, 800, 600);
-
-        if (root == null) {
-            resultTextArea.setText("Left View: Tree is empty");
-            return;
-        }
-
-        Map<Integer, Integer> leftViewMap = new TreeMap<>();
-        visualizeLeftViewRecursive(root, leftViewMap, 0);
-
-        resultTextArea.setText("Left View:");
-        double x = 50; // starting x position
-        double y = 300; // starting y position
+    private boolean persistentMode() {
+        return bstModeCheckbox.isSelected() && persistentModeCheckbox.isSelected();
+    }
 
-        for (Map.Entry<Integer, Integer> entry : leftViewMap.entrySet()) {
-            drawTreePosition(x, y, entry.getValue().toString());
-            y += 50; // spacing between nodes
+    // The tree shown in the current mode: a BinaryTree, an OrderedIntTree or the current version
+    private Object currentTree() {
+        if (persistentMode()) {
+            return versions.current();
         }
+        return bstModeCheckbox.isSelected() ? searchTree : binaryTree;
     }
- // Method to visualize Boundary Traversal
-    private void visualizeBoundaryTraversal(TreeNode root) {
-        gc.clearRect(0, 0, 800, 600);
 
-        if (root == null) {
-            resultTextArea.setText("Boundary Traversal: Tree is empty");
-            return;
+    private static TreeNode rootOf(Object tree) {
+        if (tree instanceof PersistentBinarySearchTree) {
+            return ((PersistentBinarySearchTree) tree).root;
         }
+        return tree instanceof OrderedIntTree ? ((OrderedIntTree) tree).root() : ((BinaryTree) tree).root;
+    }
 
-        resultTextArea.setText("Boundary Traversal:");
-        List<Integer> boundaryNodes = new ArrayList<>();
-
-        // Add root
-        boundaryNodes.add(root.data);
-
-        // Add left boundary
-        addLeftBoundary(root.left, boundaryNodes);
-
-        // Add leaf nodes
-        addLeafNodes(root, boundaryNodes);
-
-        // Add right boundary
-        addRightBoundary(root.right, boundaryNodes);
-
-        double x = 400; // starting x position
-        double y = 50; // starting y position
-
-        for (int i = 0; i < boundaryNodes.size(); i++) {
-            drawTreePosition(x, y, boundaryNodes.get(i).toString());
-            x += 50; // spacing between nodes
+    // Modification count of a mutable tree; a persistent version never changes
+    private static int versionOf(Object tree) {
+        if (tree instanceof PersistentBinarySearchTree) {
+            return 0;
         }
+        return tree instanceof OrderedIntTree ? ((OrderedIntTree) tree).version() : ((BinaryTree) tree).modCount;
     }
 
-    // Helper method to add left boundary nodes
-    private void addLeftBoundary(TreeNode node, List<Integer> boundaryNodes) {
-        if (node == null) {
-            return;
-        }
+    // Shows the version the history now points at, with the selected traversal
+    private void showCurrentVersion(String traversalType) {
+        updateHistoryButtons();
+        PersistentBinarySearchTree version = versions.current();
+        buildAndVisualize("Showing version " + versions.position(), traversalType, () -> version);
+    }
 
-        if (node.left != null || node.right != null) {
-            boundaryNodes.add(node.data);
-        }
+    private void updateHistoryButtons() {
+        undoButton.setDisable(!persistentMode() || !versions.canUndo());
+        redoButton.setDisable(!persistentMode() || !versions.canRedo());
+    }
 
-        addLeftBoundary(node.left, boundaryNodes);
+    // Adopts a layout computed on the worker and resets the viewport
+    private void installLayout(TreeLayout layout) {
+        treeLayout = layout;
+        // Start with the root centered at the top, as before
+        panX = 400;
+        panY = 50;
+        zoom = 1;
     }
 
-    // Helper method to add leaf nodes
-    private void addLeafNodes(TreeNode node, List<Integer> boundaryNodes) {
-        if (node == null) {
-            return;
+    // Redraws the tree on the canvas after a pan or zoom. Toggling a mode does not change what is
+    // shown until the next traversal, so this never switches to another tree's layout
+    private void redrawTree() {
+        if (showingTree) {
+            drawTree(treeLayout);
         }
+    }
 
-        if (node.left == null && node.right == null) {
-            boundaryNodes.add(node.data);
-        }
+    // Draws the nodes and edges inside the canvas viewport, highlighting the current traversal node
+    private void drawTree(TreeLayout layout) {
+        gc.clearRect(0, 0, 800, 600);
+        showingTree = true;
 
-        addLeafNodes(node.left, boundaryNodes);
-        addLeafNodes(node.right, boundaryNodes);
-    }
+        double minX = -panX / zoom;
+        double minY = -panY / zoom;
+        double maxX = (800 - panX) / zoom;
+        double maxY = (600 - panY) / zoom;
 
-    // Helper method to add right boundary nodes
-    private void addRightBoundary(TreeNode node, List<Integer> boundaryNodes) {
-        if (node == null) {
-            return;
-        }
+        gc.save();
+        gc.translate(panX, panY);
+        gc.scale(zoom, zoom);
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(2);
 
-        if (node.left != null || node.right != null) {
-            boundaryNodes.add(node.data);
-        }
+        // Edges first so that the circles are drawn over them
+        layout.forEachVisible(minX, minY, maxX, maxY, node -> {
+            double x = layout.x[node];
+            double y = layout.y[node];
+            if (layout.left[node] != ArrayTree.NIL) {
+                gc.strokeLine(x + 15, y + 30, layout.x[layout.left[node]] + 15, layout.y[layout.left[node]]);
+            }
+            if (layout.right[node] != ArrayTree.NIL) {
+                gc.strokeLine(x + 15, y + 30, layout.x[layout.right[node]] + 15, layout.y[layout.right[node]]);
+            }
+            // The edge from a parent outside the viewport would otherwise be missing
+            int parent = layout.parent[node];
+            if (parent != ArrayTree.NIL && (layout.y[parent] + 30 < minY
+                    || layout.x[parent] + 30 < minX || layout.x[parent] > maxX)) {
+                gc.strokeLine(layout.x[parent] + 15, layout.y[parent] + 30, x + 15, y);
+            }
+        });
 
-        addRightBoundary(node.right, boundaryNodes);
+        layout.forEachVisible(minX, minY, maxX, maxY, node -> drawNode(layout, node));
+        gc.restore();
     }
 
-    // Helper method for recursive traversal to get Left View
-    private void visualizeLeftViewRecursive(TreeNode node, Map<Integer, Integer> leftViewMap, int level) {
-        if (node == null) {
+    // Repaints a single node in place, e.g. when the highlight moves; edges are left untouched
+    private void repaintNode(TreeLayout layout, int node) {
+        if (node == ArrayTree.NIL || !showingTree) {
             return;
         }
-
-        if (!leftViewMap.containsKey(level)) {
-            leftViewMap.put(level, node.data);
-        }
-
-        visualizeLeftViewRecursive(node.left, leftViewMap, level + 1);
-        visualizeLeftViewRecursive(node.right, leftViewMap, level + 1);
+        gc.save();
+        gc.translate(panX, panY);
+        gc.scale(zoom, zoom);
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(2);
+        drawNode(layout, node);
+        gc.restore();
     }
 
-    private void drawTree(TreeNode node, double x, double y, double xOffset, String currentTraversalNode) {
-        if (node != null) {
-            gc.setFill(Color.WHITE);
-            gc.setStroke(Color.BLACK);
-            gc.setLineWidth(2);
-            gc.fillOval(x, y, 30, 30);
-            gc.strokeOval(x, y, 30, 30);
+    // Draws one node circle in layout coordinates; the caller sets up the viewport transform
+    private void drawNode(TreeLayout layout, int node) {
+        double x = layout.x[node];
+        double y = layout.y[node];
+        gc.setFill(node == highlightedNode ? Color.LIGHTGREEN : Color.WHITE);
+        gc.fillOval(x, y, 30, 30);
+        gc.strokeOval(x, y, 30, 30);
+        if (zoom >= 0.5) { // Labels are unreadable when zoomed far out
             gc.setFill(Color.BLACK);
-            gc.fillText(node.data == null ? "null" : node.data.toString(), x + 10, y + 18);
-
-            // Highlight current traversal node
-            if (!currentTraversalNode.isEmpty() && node.data != null && currentTraversalNode.equals(node.data.toString())) {
-                gc.setFill(Color.LIGHTGREEN);
-                gc.fillOval(x, y, 30, 30);
-                gc.setFill(Color.BLACK);
-                gc.fillText(currentTraversalNode, x + 10, y + 18);
-            }
-
-            if (node.left != null) {
-                double xLeft = x - xOffset;
-                double yLeft = y + 60;
-                gc.strokeLine(x + 15, y + 30, xLeft + 15, yLeft);
-                drawTree(node.left, xLeft, yLeft, xOffset / 2, currentTraversalNode);
-            }
-
-            if (node.right != null) {
-                double xRight = x + xOffset;
-                double yRight = y + 60;
-                gc.strokeLine(x + 15, y + 30, xRight + 15, yRight);
-                drawTree(node.right, xRight, yRight, xOffset / 2, currentTraversalNode);
-            }
+            gc.fillText(Integer.toString(layout.keys[node]), x + 10, y + 18);
         }
     }
 
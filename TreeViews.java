@@ -0,0 +1,242 @@
+package visualizer;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Top, bottom, left, right and boundary views of a tree. Any combination of them is computed in a
+// single preorder pass driven by an explicit array stack, with no boxing and no maps:
+//   - per horizontal distance (hd) the top and bottom candidates live in int arrays indexed by
+//     hd + origin, re-centered when the tree reaches further out on either side
+//   - per depth the left and right candidates live in int arrays indexed by depth
+// Preorder visits the nodes of each depth from left to right, so keeping the shallowest node per hd
+// (first wins on ties) gives the same top view as a level-order scan, keeping the deepest node
+// (last wins on ties) the same bottom view, and the first and last node per depth the left and
+// right views.
+//
+// The boundary keeps the established definition: the root, the non-leaf nodes reached by following
+// left links from the root's left child, every leaf from left to right, then the non-leaf nodes
+// reached by following right links from the root's right child, top-down.
+final class TreeViews {
+
+    enum View {
+        TOP("Top View"),
+        BOTTOM("Bottom View"),
+        LEFT("Left View"),
+        RIGHT("Right View"),
+        BOUNDARY("Boundary Traversal");
+
+        final String label;
+
+        View(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final byte LEFT_EDGE = 1;
+    private static final byte RIGHT_EDGE = 2;
+    private static final int NONE = -1; // Depth marker for an unused hd slot
+
+    private final EnumMap<View, int[]> results = new EnumMap<>(View.class);
+
+    // Per horizontal distance, index hd + origin
+    private int origin;
+    private int minHd;
+    private int maxHd;
+    private int[] topValue;
+    private int[] topDepth;
+    private int[] bottomValue;
+    private int[] bottomDepth;
+
+    // Per depth
+    private int maxDepth = -1;
+    private int[] leftValue;
+    private int[] rightValue;
+
+    // Boundary output, with the right edge buffered until all leaves are in
+    private int[] boundary;
+    private int boundaryCount;
+    private int[] rightEdge;
+    private int rightEdgeCount;
+
+    private TreeViews() {
+    }
+
+    // Method to compute the requested views in one pass over the tree
+    public static TreeViews compute(TreeNode root, Set<View> views) {
+        TreeViews result = new TreeViews();
+        result.run(root, views.isEmpty() ? EnumSet.noneOf(View.class) : EnumSet.copyOf(views));
+        return result;
+    }
+
+    // Method to compute a single view
+    public static int[] compute(TreeNode root, View view) {
+        return compute(root, EnumSet.of(view)).get(view);
+    }
+
+    // Method to get the values of a computed view, in display order
+    public int[] get(View view) {
+        int[] values = results.get(view);
+        if (values == null) {
+            throw new IllegalArgumentException(view.label + " was not computed");
+        }
+        return values;
+    }
+
+    private void run(TreeNode root, EnumSet<View> views) {
+        boolean top = views.contains(View.TOP);
+        boolean bottom = views.contains(View.BOTTOM);
+        boolean left = views.contains(View.LEFT);
+        boolean right = views.contains(View.RIGHT);
+        boolean edges = views.contains(View.BOUNDARY);
+
+        if (root != null) {
+            int width = 64;
+            origin = width / 2;
+            topValue = new int[width];
+            topDepth = new int[width];
+            bottomValue = new int[width];
+            bottomDepth = new int[width];
+            Arrays.fill(topDepth, NONE);
+            Arrays.fill(bottomDepth, NONE);
+            leftValue = new int[64];
+            rightValue = new int[64];
+            boundary = new int[64];
+            rightEdge = new int[16];
+
+            TreeNode[] nodes = new TreeNode[64];
+            int[] depths = new int[64];
+            int[] hds = new int[64];
+            byte[] flags = new byte[64];
+            int stackTop = 0;
+            nodes[stackTop++] = root;
+            if (edges) {
+                appendBoundary(root.data);
+            }
+
+            while (stackTop > 0) {
+                stackTop--;
+                TreeNode node = nodes[stackTop];
+                int depth = depths[stackTop];
+                int hd = hds[stackTop];
+                byte flag = flags[stackTop];
+                nodes[stackTop] = null;
+
+                if (top || bottom) {
+                    int slot = slotFor(hd);
+                    if (topDepth[slot] == NONE || depth < topDepth[slot]) {
+                        topDepth[slot] = depth;
+                        topValue[slot] = node.data;
+                    }
+                    if (depth >= bottomDepth[slot]) {
+                        bottomDepth[slot] = depth;
+                        bottomValue[slot] = node.data;
+                    }
+                }
+                if (left || right) {
+                    if (depth > maxDepth) {
+                        maxDepth = depth;
+                        if (depth == leftValue.length) {
+                            leftValue = Arrays.copyOf(leftValue, depth * 2);
+                            rightValue = Arrays.copyOf(rightValue, depth * 2);
+                        }
+                        leftValue[depth] = node.data;
+                    }
+                    rightValue[depth] = node.data;
+                }
+                if (edges) {
+                    boolean leaf = node.left == null && node.right == null;
+                    if (leaf || flag == LEFT_EDGE) {
+                        appendBoundary(node.data);
+                    } else if (flag == RIGHT_EDGE) {
+                        if (rightEdgeCount == rightEdge.length) {
+                            rightEdge = Arrays.copyOf(rightEdge, rightEdgeCount * 2);
+                        }
+                        rightEdge[rightEdgeCount++] = node.data;
+                    }
+                }
+
+                if (stackTop + 2 > nodes.length) {
+                    int capacity = nodes.length * 2;
+                    nodes = Arrays.copyOf(nodes, capacity);
+                    depths = Arrays.copyOf(depths, capacity);
+                    hds = Arrays.copyOf(hds, capacity);
+                    flags = Arrays.copyOf(flags, capacity);
+                }
+                boolean isRoot = node == root;
+                if (node.right != null) {
+                    nodes[stackTop] = node.right;
+                    depths[stackTop] = depth + 1;
+                    hds[stackTop] = hd + 1;
+                    flags[stackTop] = isRoot || flag == RIGHT_EDGE ? RIGHT_EDGE : 0;
+                    stackTop++;
+                }
+                if (node.left != null) {
+                    nodes[stackTop] = node.left;
+                    depths[stackTop] = depth + 1;
+                    hds[stackTop] = hd - 1;
+                    flags[stackTop] = isRoot || flag == LEFT_EDGE ? LEFT_EDGE : 0;
+                    stackTop++;
+                }
+            }
+        }
+
+        int depthCount = maxDepth + 1;
+        if (top) {
+            results.put(View.TOP, root == null ? new int[0]
+                    : Arrays.copyOfRange(topValue, minHd + origin, maxHd + origin + 1));
+        }
+        if (bottom) {
+            results.put(View.BOTTOM, root == null ? new int[0]
+                    : Arrays.copyOfRange(bottomValue, minHd + origin, maxHd + origin + 1));
+        }
+        if (left) {
+            results.put(View.LEFT, root == null ? new int[0] : Arrays.copyOf(leftValue, depthCount));
+        }
+        if (right) {
+            results.put(View.RIGHT, root == null ? new int[0] : Arrays.copyOf(rightValue, depthCount));
+        }
+        if (edges) {
+            int[] values = new int[boundaryCount + rightEdgeCount];
+            if (root != null) {
+                System.arraycopy(boundary, 0, values, 0, boundaryCount);
+                System.arraycopy(rightEdge, 0, values, boundaryCount, rightEdgeCount);
+            }
+            results.put(View.BOUNDARY, values);
+        }
+    }
+
+    // Array slot for a horizontal distance, widening the hd arrays around their center if needed.
+    // Children are one step away from their parent, so doubling always makes room
+    private int slotFor(int hd) {
+        int slot = hd + origin;
+        if (slot < 0 || slot >= topValue.length) {
+            int width = topValue.length;
+            int shift = width / 2;
+            topValue = widen(topValue, shift, 0);
+            topDepth = widen(topDepth, shift, NONE);
+            bottomValue = widen(bottomValue, shift, 0);
+            bottomDepth = widen(bottomDepth, shift, NONE);
+            origin += shift;
+            slot = hd + origin;
+        }
+        minHd = Math.min(minHd, hd);
+        maxHd = Math.max(maxHd, hd);
+        return slot;
+    }
+
+    private static int[] widen(int[] values, int shift, int fill) {
+        int[] wider = new int[values.length * 2];
+        Arrays.fill(wider, fill);
+        System.arraycopy(values, 0, wider, shift, values.length);
+        return wider;
+    }
+
+    private void appendBoundary(int value) {
+        if (boundaryCount == boundary.length) {
+            boundary = Arrays.copyOf(boundary, boundaryCount * 2);
+        }
+        boundary[boundaryCount++] = value;
+    }
+}
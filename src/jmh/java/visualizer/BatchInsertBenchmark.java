@@ -0,0 +1,62 @@
+package visualizer;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The two insertAll strategies, per-key inserts and merge-and-rebuild, for batches of several sizes
+// against trees of several sizes; this is what places BinarySearchTree.MIN_REBUILD_BATCH and
+// REBUILD_RATIO. A batch changes the tree, so every measurement is a single shot on a fresh tree
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+@Fork(1)
+public class BatchInsertBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    public int treeSize;
+
+    @Param({"16", "1024", "16384", "262144"})
+    public int batchSize;
+
+    private int[] base;
+    private int[] batch;
+    private BinarySearchTree tree;
+
+    @Setup(Level.Trial)
+    public void setUpKeys() {
+        int[] keys = TreeFixtures.randomKeys(treeSize + batchSize, 19);
+        base = Arrays.copyOf(keys, treeSize);
+        batch = Arrays.copyOfRange(keys, treeSize, treeSize + batchSize);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpTree() {
+        tree = new BinarySearchTree();
+        tree.bulkLoad(base);
+    }
+
+    @Benchmark
+    public int perKey() {
+        tree.insertEach(batch);
+        return tree.size();
+    }
+
+    @Benchmark
+    public int rebuild() {
+        tree.mergeAndRebuild(batch);
+        return tree.size();
+    }
+}
@@ -0,0 +1,74 @@
+package visualizer;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+// Insert throughput of ConcurrentBinarySearchTree against a BinarySearchTree behind a global lock,
+// with all benchmark threads inserting into one tree. Vary the writer count with -t; the trees
+// start empty every iteration. Correctness under contention is ConcurrentBinarySearchTreeTest's job
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConcurrentInsertBenchmark {
+    private static final int KEY_COUNT = 1 << 20;
+    private static final int[] KEYS = TreeFixtures.randomKeys(KEY_COUNT, 13);
+
+    @State(Scope.Benchmark)
+    public static class Trees {
+        ConcurrentBinarySearchTree lockFree;
+        BinarySearchTree locked;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            lockFree = new ConcurrentBinarySearchTree();
+            locked = new BinarySearchTree();
+        }
+    }
+
+    // Each thread walks the shared key order from its own offset, so the threads mostly insert
+    // different keys; once the keys wrap around, inserts turn into duplicate checks
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+        private int step;
+
+        @Setup(Level.Iteration)
+        public void setUp(ThreadParams threads) {
+            next = threads.getThreadIndex();
+            step = threads.getThreadCount();
+        }
+
+        int nextKey() {
+            next += step;
+            return KEYS[next & (KEY_COUNT - 1)];
+        }
+    }
+
+    @Benchmark
+    public boolean lockFree(Trees trees, Cursor cursor) {
+        return trees.lockFree.insert(cursor.nextKey());
+    }
+
+    @Benchmark
+    public boolean globalLock(Trees trees, Cursor cursor) {
+        int key = cursor.nextKey();
+        synchronized (trees.locked) {
+            return trees.locked.insert(key);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package visualizer;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// The OrderedIntTree engines head to head: building a tree from random and from ascending keys
+// (one operation = size inserts into an empty tree), point and floor lookups with half of the keys
+// present, and an ascending scan of the whole tree
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnginesBenchmark {
+    private static final int QUERIES = 1 << 16;
+
+    @Param({"AVL", "RED_BLACK", "B_TREE"})
+    public String engine;
+
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    private OrderedIntTree.Engine treeEngine;
+    private int[] keys;
+    private int[] ascending;
+    private OrderedIntTree tree;
+    private final int[] queries = new int[QUERIES];
+
+    @Setup
+    public void setUp() {
+        treeEngine = OrderedIntTree.Engine.valueOf(engine);
+        // Even keys only, so that odd queries miss
+        keys = TreeFixtures.randomKeys(size, 23);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] *= 2;
+        }
+        ascending = keys.clone();
+        Arrays.sort(ascending);
+        tree = treeEngine.create();
+        for (int key : keys) {
+            tree.insert(key);
+        }
+        Random random = new Random(29);
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = random.nextInt(2 * size);
+        }
+    }
+
+    @Benchmark
+    public int insertRandom() {
+        OrderedIntTree built = treeEngine.create();
+        for (int key : keys) {
+            built.insert(key);
+        }
+        return built.size();
+    }
+
+    @Benchmark
+    public int insertAscending() {
+        OrderedIntTree built = treeEngine.create();
+        for (int key : ascending) {
+            built.insert(key);
+        }
+        return built.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void contains(Blackhole blackhole) {
+        for (int query : queries) {
+            blackhole.consume(tree.contains(query));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void floor(Blackhole blackhole) {
+        for (int query : queries) {
+            blackhole.consume(tree.floor(query).orElse(0));
+        }
+    }
+
+    @Benchmark
+    public void scan(Blackhole blackhole) {
+        tree.forEachAscending(blackhole::consume);
+    }
+}
@@ -0,0 +1,97 @@
+package visualizer;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Point and floor lookups in a BinarySearchTree built by random inserts, its frozen Eytzinger copy
+// and a binary search over the sorted keys, from L2-resident (16K keys) to far beyond the last-level
+// cache (16M keys, about 1 GB as TreeNodes, hence the 3 GB heap). Half of the queries are present
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class LookupBenchmark {
+    private static final int QUERIES = 1 << 16;
+
+    @Param({"16384", "262144", "4194304", "16777216"})
+    public int size;
+
+    private BinarySearchTree tree;
+    private FrozenTree frozen;
+    private int[] sorted;
+    private final int[] queries = new int[QUERIES];
+
+    @Setup
+    public void setUp() {
+        // Even keys only, so that odd queries miss
+        int[] keys = TreeFixtures.randomKeys(size, 23);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] *= 2;
+        }
+        tree = new BinarySearchTree();
+        tree.insertEach(keys);
+        frozen = tree.freeze();
+        sorted = keys.clone();
+        Arrays.sort(sorted);
+        Random random = new Random(29);
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = random.nextInt(2 * size);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void bstContains(Blackhole blackhole) {
+        for (int query : queries) {
+            blackhole.consume(tree.contains(query));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void frozenContains(Blackhole blackhole) {
+        for (int query : queries) {
+            blackhole.consume(frozen.contains(query));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void sortedArrayContains(Blackhole blackhole) {
+        for (int query : queries) {
+            blackhole.consume(Arrays.binarySearch(sorted, query) >= 0);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void bstFloor(Blackhole blackhole) {
+        for (int query : queries) {
+            blackhole.consume(tree.floor(query).orElse(0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void frozenFloor(Blackhole blackhole) {
+        for (int query : queries) {
+            blackhole.consume(frozen.floor(query).orElse(0));
+        }
+    }
+}
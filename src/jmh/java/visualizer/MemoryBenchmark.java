@@ -0,0 +1,110 @@
+package visualizer;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// TreeNode objects against ArrayTree and OffHeapTree storage. Run with -prof gc: the normalized
+// allocation of build, divided by size, is the heap cost per node (OffHeapTree adds 16 bytes per
+// node of direct memory on top)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemoryBenchmark {
+    @Param({"objects", "array", "offHeap"})
+    public String representation;
+
+    @Param({"1000000"})
+    public int size;
+
+    private int[] keys;
+    private BinarySearchTree objectTree;
+    private ArrayTree arrayTree;
+    private OffHeapTree offHeapTree;
+    private final TreeTraversal traversal = new TreeTraversal();
+
+    @Setup
+    public void setUp() {
+        keys = TreeFixtures.randomKeys(size, 42);
+        switch (representation) {
+            case "objects":
+                objectTree = new BinarySearchTree();
+                objectTree.insertEach(keys);
+                break;
+            case "array":
+                arrayTree = new ArrayTree(size);
+                for (int key : keys) {
+                    arrayTree.insert(key);
+                }
+                break;
+            default:
+                offHeapTree = OffHeapTree.allocate();
+                for (int key : keys) {
+                    offHeapTree.insert(key);
+                }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (offHeapTree != null) {
+            offHeapTree.close();
+            offHeapTree = null;
+        }
+    }
+
+    // Builds a tree of size random keys and drops it again
+    @Benchmark
+    public int build() throws IOException {
+        switch (representation) {
+            case "objects": {
+                BinarySearchTree tree = new BinarySearchTree();
+                tree.insertEach(keys);
+                return tree.size();
+            }
+            case "array": {
+                ArrayTree tree = new ArrayTree(size);
+                for (int key : keys) {
+                    tree.insert(key);
+                }
+                return tree.size;
+            }
+            default:
+                try (OffHeapTree tree = OffHeapTree.allocate()) {
+                    for (int key : keys) {
+                        tree.insert(key);
+                    }
+                    return tree.size();
+                }
+        }
+    }
+
+    @Benchmark
+    public void inorder(Blackhole blackhole) {
+        switch (representation) {
+            case "objects":
+                traversal.inorder(objectTree.root, blackhole::consume);
+                break;
+            case "array":
+                traversal.traverse(arrayTree, TraversalOrder.INORDER, blackhole::consume);
+                break;
+            default:
+                traversal.traverse(offHeapTree, TraversalOrder.INORDER, blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package visualizer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Single-threaded aggregate passes against the stream and fork/join versions in
+// ParallelTreeTraversal; the speed-up depends on the common pool's parallelism
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelBenchmark {
+    @Param({"1000000"})
+    public int size;
+
+    private TreeNode root;
+    private final TreeTraversal traversal = new TreeTraversal();
+
+    @Setup
+    public void setUp() {
+        BinarySearchTree tree = new BinarySearchTree();
+        tree.bulkLoad(TreeFixtures.randomKeys(size, 11));
+        root = tree.root;
+    }
+
+    @Benchmark
+    public long sumSequential() {
+        long[] sum = new long[1];
+        traversal.inorder(root, value -> sum[0] += value);
+        return sum[0];
+    }
+
+    @Benchmark
+    public long sumStream() {
+        return ParallelTreeTraversal.stream(root, TraversalOrder.INORDER, true).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long sumForkJoin() {
+        return ParallelTreeTraversal.sum(root);
+    }
+
+    @Benchmark
+    public int[] toArraySequential() {
+        IntStream.Builder values = IntStream.builder();
+        traversal.inorder(root, values::add);
+        return values.build().toArray();
+    }
+
+    @Benchmark
+    public int[] toArrayForkJoin() {
+        return ParallelTreeTraversal.toArray(root, TraversalOrder.INORDER);
+    }
+}
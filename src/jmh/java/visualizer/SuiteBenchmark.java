@@ -0,0 +1,167 @@
+package visualizer;
+
+import java.util.EnumSet;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Construction, traversal, order-statistic and view costs across tree sizes and shapes. Sample-time
+// mode reports the mean and the latency percentiles; add -prof gc for the allocation rate per
+// operation. 10M-node trees: -p size=10000000 and -Xmx.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuiteBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"balanced", "degenerate", "random"})
+    public String shape;
+
+    private Integer[] levelOrderInput;
+    private int[] insertKeys;
+    private TreeNode root;
+    private BinarySearchTree searchTree;
+    private int[] queries;
+    private final TreeTraversal traversal = new TreeTraversal();
+    private final EnumSet<TreeViews.View> allViews = EnumSet.allOf(TreeViews.View.class);
+
+    @Setup
+    public void setUp() {
+        levelOrderInput = TreeFixtures.levelOrderInput(shape, size);
+        insertKeys = TreeFixtures.insertionKeys(shape, size);
+        root = TreeFixtures.treeOfShape(shape, size);
+        searchTree = new BinarySearchTree();
+        searchTree.insertAll(insertKeys);
+        queries = TreeFixtures.randomKeys(searchTree.size(), 19);
+    }
+
+    // Construction: every invocation builds a whole tree of size nodes
+
+    @Benchmark
+    public Object insertLevelOrder() {
+        BinaryTree tree = new BinaryTree();
+        tree.insertLevelOrder(levelOrderInput);
+        return tree;
+    }
+
+    @Benchmark
+    public Object arrayInsertLevelOrder() {
+        ArrayTree tree = new ArrayTree();
+        tree.insertLevelOrder(levelOrderInput);
+        return tree;
+    }
+
+    @Benchmark
+    public Object bstInsert() {
+        BinarySearchTree tree = new BinarySearchTree();
+        for (int key : insertKeys) {
+            tree.insert(key);
+        }
+        return tree;
+    }
+
+    @Benchmark
+    public Object bstBulkLoad() {
+        BinarySearchTree tree = new BinarySearchTree();
+        tree.bulkLoad(insertKeys);
+        return tree;
+    }
+
+    @Benchmark
+    public Object bstInsertAll() {
+        BinarySearchTree tree = new BinarySearchTree();
+        tree.insertAll(insertKeys);
+        return tree;
+    }
+
+    @Benchmark
+    public Object persistentInsert() {
+        PersistentBinarySearchTree version = PersistentBinarySearchTree.EMPTY;
+        for (int key : insertKeys) {
+            version = version.insert(key);
+        }
+        return version;
+    }
+
+    // Traversals of the whole tree
+
+    @Benchmark
+    public void inorder(Blackhole blackhole) {
+        traversal.traverse(root, TraversalOrder.INORDER, blackhole::consume);
+    }
+
+    @Benchmark
+    public void preorder(Blackhole blackhole) {
+        traversal.traverse(root, TraversalOrder.PREORDER, blackhole::consume);
+    }
+
+    @Benchmark
+    public void postorder(Blackhole blackhole) {
+        traversal.traverse(root, TraversalOrder.POSTORDER, blackhole::consume);
+    }
+
+    @Benchmark
+    public void levelOrder(Blackhole blackhole) {
+        traversal.traverse(root, TraversalOrder.LEVEL_ORDER, blackhole::consume);
+    }
+
+    @Benchmark
+    public String inorderString() {
+        return traversal.inorder(root);
+    }
+
+    // Order statistics: one query per key
+
+    @Benchmark
+    public void bstSelect(Blackhole blackhole) {
+        for (int k : queries) {
+            blackhole.consume(searchTree.select(k));
+        }
+    }
+
+    @Benchmark
+    public void bstCountRange(Blackhole blackhole) {
+        for (int k : queries) {
+            blackhole.consume(searchTree.countRange(k, k + size / 10));
+        }
+    }
+
+    // Short range scans (up to 100 keys) from 1,000 starting keys
+    @Benchmark
+    public void bstRange(Blackhole blackhole) {
+        for (int i = 0; i < 1_000; i++) {
+            int lo = queries[i % queries.length];
+            PrimitiveIterator.OfInt keys = searchTree.range(lo, lo + 99);
+            while (keys.hasNext()) {
+                blackhole.consume(keys.nextInt());
+            }
+        }
+    }
+
+    // Views
+
+    @Benchmark
+    public int[] topView() {
+        return TreeViews.compute(root, TreeViews.View.TOP);
+    }
+
+    @Benchmark
+    public Object allViews() {
+        return TreeViews.compute(root, allViews);
+    }
+}
@@ -0,0 +1,74 @@
+package visualizer;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Recursive, stack-based and Morris inorder/preorder on a balanced tree and on degenerate chains.
+// The forked JVM gets a 1 GB thread stack so that recursion survives a million-node chain
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss1g")
+public class TraversalModeBenchmark {
+    @Param({"balanced", "leftChain", "rightChain"})
+    public String shape;
+
+    @Param({"recursive", "STACK", "MORRIS"})
+    public String mode;
+
+    @Param({"1000000"})
+    public int size;
+
+    private TreeNode root;
+    private final TreeTraversal traversal = new TreeTraversal();
+
+    @Setup
+    public void setUp() {
+        switch (shape) {
+            case "balanced":
+                BinarySearchTree tree = new BinarySearchTree();
+                tree.bulkLoad(TreeFixtures.randomKeys(size, 7));
+                root = tree.root;
+                break;
+            case "leftChain":
+                root = TreeFixtures.chain(size, true);
+                break;
+            default:
+                root = TreeFixtures.chain(size, false);
+        }
+        if (!mode.equals("recursive")) {
+            traversal.setMode(TraversalMode.valueOf(mode));
+        }
+    }
+
+    @Benchmark
+    public void inorder(Blackhole blackhole) {
+        if (mode.equals("recursive")) {
+            TreeFixtures.recursiveInorder(root, blackhole::consume);
+        } else {
+            traversal.inorder(root, blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void preorder(Blackhole blackhole) {
+        if (mode.equals("recursive")) {
+            TreeFixtures.recursivePreorder(root, blackhole::consume);
+        } else {
+            traversal.preorder(root, blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package visualizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Test;
+
+// Stress test for ConcurrentBinarySearchTree: several writers insert while a reader keeps searching
+class ConcurrentBinarySearchTreeTest {
+    private static final int KEY_COUNT = 100_000;
+
+    @Test
+    void concurrentInsertsAreVisibleOrderedAndBalanced() {
+        int[] keys = TreeFixtures.randomKeys(KEY_COUNT, 13);
+        for (int threads = 1; threads <= 8; threads *= 2) {
+            stress(keys, threads);
+        }
+    }
+
+    // Inserts the keys from several threads while another thread keeps searching, and checks that
+    // every insert is visible at once and the result is a complete, ordered and balanced tree
+    private static void stress(int[] keys, int threads) {
+        ConcurrentBinarySearchTree tree = new ConcurrentBinarySearchTree();
+        LongAdder added = new LongAdder();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            Random random = new Random(17);
+            while (writing.get()) {
+                tree.contains(keys[random.nextInt(keys.length)]);
+            }
+        }, "stress-reader");
+        reader.start();
+        // Every writer also inserts the first keys, so that duplicate inserts race as well
+        int shared = Math.min(keys.length, 1_000);
+        try {
+            TreeFixtures.runWriters(threads, keys, shared, key -> {
+                if (tree.insert(key)) {
+                    added.increment();
+                }
+                if (!tree.contains(key)) {
+                    throw new IllegalStateException("Inserted key " + key + " is not visible");
+                }
+            });
+        } finally {
+            writing.set(false);
+        }
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        assertEquals(keys.length, added.sum(), "successful inserts with " + threads + " writers");
+        int[] next = new int[1];
+        new TreeTraversal().inorder(tree.snapshot(), value -> assertEquals(next[0]++, value, "inorder key"));
+        assertEquals(keys.length, next[0]);
+        checkBalanced(tree.snapshot());
+    }
+
+    // Verifies the AVL invariant and the cached heights, returning the subtree height
+    private static int checkBalanced(TreeNode node) {
+        if (node == null) {
+            return 0;
+        }
+        int leftHeight = checkBalanced(node.left);
+        int rightHeight = checkBalanced(node.right);
+        assertTrue(Math.abs(leftHeight - rightHeight) <= 1, "AVL balance at " + node.data);
+        assertEquals(1 + Math.max(leftHeight, rightHeight), node.height, "cached height at " + node.data);
+        return node.height;
+    }
+}
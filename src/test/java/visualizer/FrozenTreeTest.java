@@ -0,0 +1,95 @@
+package visualizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+// FrozenTree lookups against TreeSet, for every size up to a few full levels and for larger trees
+class FrozenTreeTest {
+
+    @Test
+    void everySmallSize() {
+        Random random = new Random(59);
+        for (int size = 0; size <= 300; size++) {
+            check(randomSet(random, size), random, 200);
+        }
+    }
+
+    @Test
+    void largeTrees() {
+        Random random = new Random(61);
+        for (int size : new int[] {1 << 16, (1 << 17) + 5, 1_000_003}) {
+            check(randomSet(random, size), random, 200_000);
+        }
+    }
+
+    @Test
+    void extremeKeys() {
+        TreeSet<Integer> keys = new TreeSet<>();
+        keys.add(Integer.MIN_VALUE);
+        keys.add(-1);
+        keys.add(0);
+        keys.add(Integer.MAX_VALUE);
+        FrozenTree frozen = freeze(keys);
+        for (int key : new int[] {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -2, -1, 0, 1, Integer.MAX_VALUE - 1,
+                Integer.MAX_VALUE}) {
+            checkKey(keys, frozen, key);
+        }
+    }
+
+    @Test
+    void freezeCopiesTheCurrentKeys() {
+        BinarySearchTree tree = new BinarySearchTree();
+        TreeSet<Integer> keys = new TreeSet<>();
+        Random random = new Random(67);
+        for (int i = 0; i < 5_000; i++) {
+            int key = random.nextInt(20_000);
+            tree.insert(key);
+            keys.add(key);
+        }
+        FrozenTree frozen = tree.freeze();
+        tree.insert(-5); // Later changes must not show through
+        assertEquals(keys.size(), frozen.size());
+        for (int key = -10; key <= 20_010; key++) {
+            checkKey(keys, frozen, key);
+        }
+    }
+
+    // Distinct keys spread over about three times their count, so that about two in three queries miss
+    private static TreeSet<Integer> randomSet(Random random, int size) {
+        TreeSet<Integer> keys = new TreeSet<>();
+        while (keys.size() < size) {
+            keys.add(random.nextInt(3 * size + 1) - size);
+        }
+        return keys;
+    }
+
+    private static void check(TreeSet<Integer> keys, Random random, int queries) {
+        FrozenTree frozen = freeze(keys);
+        assertEquals(keys.size(), frozen.size());
+        for (int key : keys) {
+            checkKey(keys, frozen, key);
+        }
+        int span = 4 * keys.size() + 4;
+        for (int i = 0; i < queries; i++) {
+            checkKey(keys, frozen, random.nextInt(span) - span / 2);
+        }
+    }
+
+    private static FrozenTree freeze(TreeSet<Integer> keys) {
+        return FrozenTree.fromSorted(keys.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static void checkKey(TreeSet<Integer> keys, FrozenTree frozen, int key) {
+        assertEquals(keys.contains(key), frozen.contains(key), "contains " + key);
+        assertEquals(optional(keys.floor(key)), frozen.floor(key), "floor " + key);
+        assertEquals(optional(keys.ceiling(key)), frozen.ceiling(key), "ceiling " + key);
+    }
+
+    private static OptionalInt optional(Integer key) {
+        return key == null ? OptionalInt.empty() : OptionalInt.of(key);
+    }
+}
@@ -0,0 +1,155 @@
+package visualizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+// The level-order builders against the original queue-based insertLevelOrder. The test task pins
+// the common pool's parallelism above 1, so inputs of PARALLEL_THRESHOLD entries or more take the
+// parallel path on any machine
+class LevelOrderIndexTest {
+
+    @Test
+    void smallInputsMatchTheQueueBuilder() {
+        Random random = new Random(47);
+        for (int trial = 0; trial < 2_000; trial++) {
+            check(randomInput(random, random.nextInt(64)));
+        }
+        check(new Integer[0]);
+        check(new Integer[] {null, 1, 2});
+        check(new Integer[] {1, null, null, 4, 5}); // The queue runs dry before 4
+    }
+
+    @Test
+    void largeInputsMatchOnBothPaths() {
+        assertTrue(LevelOrderIndex.parallel(LevelOrderIndex.PARALLEL_THRESHOLD), "parallel path not enabled");
+        Random random = new Random(53);
+        for (int length : new int[] {LevelOrderIndex.PARALLEL_THRESHOLD - 1, LevelOrderIndex.PARALLEL_THRESHOLD,
+                300_000}) {
+            for (int trial = 0; trial < 3; trial++) {
+                check(randomInput(random, length));
+            }
+        }
+        check(TreeFixtures.levelOrderInput("degenerate", 100_000));
+    }
+
+    // Level-order input with a random share of missing nodes, from none up to three in four
+    private static Integer[] randomInput(Random random, int length) {
+        Integer[] nodes = new Integer[length];
+        int gaps = random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            nodes[i] = i > 0 && random.nextInt(4) < gaps ? null : random.nextInt();
+        }
+        return nodes;
+    }
+
+    private static void check(Integer[] nodes) {
+        TreeNode expected = queueBuild(nodes);
+
+        BinaryTree tree = new BinaryTree();
+        tree.insertLevelOrder(nodes);
+        assertSameTree(expected, tree.root);
+
+        BinaryTree streamed = new BinaryTree();
+        TreeFileLoader.NodeSink sink = streamed.levelOrderBuilder();
+        for (Integer node : nodes) {
+            if (node == null) {
+                sink.missing();
+            } else {
+                sink.node(node);
+            }
+        }
+        assertSameTree(expected, streamed.root);
+
+        ArrayTree array = new ArrayTree();
+        array.insertLevelOrder(nodes);
+        assertSameTree(expected, array);
+    }
+
+    // The original builder: every polled node takes the next two entries as its children
+    private static TreeNode queueBuild(Integer[] nodes) {
+        if (nodes.length == 0 || nodes[0] == null) {
+            return null;
+        }
+        TreeNode root = new TreeNode(nodes[0]);
+        ArrayDeque<TreeNode> queue = new ArrayDeque<>();
+        queue.add(root);
+        int i = 1;
+        while (!queue.isEmpty() && i < nodes.length) {
+            TreeNode current = queue.poll();
+            if (nodes[i] != null) {
+                current.left = new TreeNode(nodes[i]);
+                queue.add(current.left);
+            }
+            i++;
+            if (i < nodes.length && nodes[i] != null) {
+                current.right = new TreeNode(nodes[i]);
+                queue.add(current.right);
+            }
+            i++;
+        }
+        return root;
+    }
+
+    private static void assertSameTree(TreeNode expected, TreeNode actual) {
+        ArrayDeque<TreeNode[]> pending = new ArrayDeque<>();
+        pending.push(new TreeNode[] {expected, actual});
+        while (!pending.isEmpty()) {
+            TreeNode[] pair = pending.pop();
+            if (pair[0] == null || pair[1] == null) {
+                assertEquals(pair[0] == null, pair[1] == null, "missing node");
+                continue;
+            }
+            assertEquals(pair[0].data, pair[1].data, "key");
+            pending.push(new TreeNode[] {pair[0].left, pair[1].left});
+            pending.push(new TreeNode[] {pair[0].right, pair[1].right});
+        }
+    }
+
+    // Same for array storage, also checking that every node's height is that of its subtree
+    private static void assertSameTree(TreeNode expected, ArrayTree actual) {
+        if (expected == null) {
+            assertEquals(0, actual.size);
+            return;
+        }
+        int[] heights = new int[actual.size];
+        int visited = 0;
+        ArrayDeque<TreeNode> nodes = new ArrayDeque<>();
+        ArrayDeque<Integer> ids = new ArrayDeque<>();
+        nodes.push(expected);
+        ids.push(actual.root);
+        while (!nodes.isEmpty()) {
+            TreeNode node = nodes.pop();
+            int id = ids.pop();
+            assertTrue(id != ArrayTree.NIL, "missing node " + node.data);
+            assertEquals(node.data, actual.keys[id], "key");
+            visited++;
+            for (int child : new int[] {actual.left[id], actual.right[id]}) {
+                // Children are numbered after their parent, so a reverse pass fills in the heights
+                assertTrue(child == ArrayTree.NIL || child > id, "child numbered before its parent");
+            }
+            if (node.left != null) {
+                nodes.push(node.left);
+                ids.push(actual.left[id]);
+            } else {
+                assertEquals(ArrayTree.NIL, actual.left[id], "extra left child");
+            }
+            if (node.right != null) {
+                nodes.push(node.right);
+                ids.push(actual.right[id]);
+            } else {
+                assertEquals(ArrayTree.NIL, actual.right[id], "extra right child");
+            }
+        }
+        assertEquals(visited, actual.size);
+        for (int id = actual.size - 1; id >= 0; id--) {
+            int left = actual.left[id] == ArrayTree.NIL ? 0 : heights[actual.left[id]];
+            int right = actual.right[id] == ArrayTree.NIL ? 0 : heights[actual.right[id]];
+            heights[id] = 1 + Math.max(left, right);
+            assertEquals(heights[id], actual.height[id], "height");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package visualizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+// Every OrderedIntTree engine against TreeSet: insert results, versions, key order, lookups and the
+// TreeNode view that the traversals and the layout use
+class OrderedIntTreeTest {
+
+    @Test
+    void randomInsertsWithDuplicates() {
+        for (OrderedIntTree.Engine engine : OrderedIntTree.Engine.values()) {
+            Random random = new Random(71);
+            int[] keys = random.ints(20_000, -15_000, 15_000).toArray();
+            check(engine, keys, random);
+        }
+    }
+
+    @Test
+    void ascendingAndDescendingInserts() {
+        for (OrderedIntTree.Engine engine : OrderedIntTree.Engine.values()) {
+            check(engine, IntStream.range(0, 10_000).toArray(), new Random(73));
+            check(engine, IntStream.range(0, 10_000).map(i -> -i).toArray(), new Random(79));
+        }
+    }
+
+    @Test
+    void insertAllMatchesInsert() {
+        for (OrderedIntTree.Engine engine : OrderedIntTree.Engine.values()) {
+            Random random = new Random(83);
+            OrderedIntTree tree = engine.create();
+            TreeSet<Integer> expected = new TreeSet<>();
+            // Small and large batches, so that the AVL engine takes both of its strategies
+            for (int batch : new int[] {10, 5_000, 100, 20_000}) {
+                int[] keys = random.ints(batch, 0, 40_000).toArray();
+                tree.insertAll(keys);
+                for (int key : keys) {
+                    expected.add(key);
+                }
+                assertArrayEquals(toArray(expected), tree.toSortedArray(), engine + " after a batch of " + batch);
+            }
+            int version = tree.version();
+            tree.insertAll(tree.toSortedArray());
+            assertEquals(version, tree.version(), engine + " version after an all-duplicate batch");
+        }
+    }
+
+    private static void check(OrderedIntTree.Engine engine, int[] keys, Random random) {
+        OrderedIntTree tree = engine.create();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int key : keys) {
+            int version = tree.version();
+            boolean added = expected.add(key);
+            assertEquals(added, tree.insert(key), engine + " insert " + key);
+            if (added) {
+                assertNotEquals(version, tree.version(), engine + " version after inserting " + key);
+            } else {
+                assertEquals(version, tree.version(), engine + " version after a duplicate " + key);
+            }
+        }
+        assertEquals(expected.size(), tree.size(), engine + " size");
+        int[] sorted = toArray(expected);
+        assertArrayEquals(sorted, tree.toSortedArray(), engine + " ascending keys");
+
+        int lo = expected.first() - 2;
+        int span = expected.last() - lo + 3;
+        for (int i = 0; i < 20_000; i++) {
+            int key = lo + random.nextInt(span);
+            assertEquals(expected.contains(key), tree.contains(key), engine + " contains " + key);
+            assertEquals(optional(expected.floor(key)), tree.floor(key), engine + " floor " + key);
+            assertEquals(optional(expected.ceiling(key)), tree.ceiling(key), engine + " ceiling " + key);
+        }
+
+        // The view must be a search tree over the same keys, with heights and sizes filled in
+        TreeNode root = tree.root();
+        assertEquals(sorted.length, checkView(root), engine + " view size");
+        int[] inorder = new int[sorted.length];
+        int[] count = new int[1];
+        new TreeTraversal().inorder(root, key -> inorder[count[0]++] = key);
+        assertArrayEquals(sorted, inorder, engine + " view inorder");
+        count[0] = 0;
+        new TreeTraversal().traverse(tree, TraversalOrder.INORDER, key -> inorder[count[0]++] = key);
+        assertArrayEquals(sorted, inorder, engine + " traverse inorder");
+    }
+
+    // Returns the subtree size after checking the cached height and size; recursion depth is the
+    // view's height, which is logarithmic for every engine
+    private static int checkView(TreeNode node) {
+        if (node == null) {
+            return 0;
+        }
+        int size = 1 + checkView(node.left) + checkView(node.right);
+        int leftHeight = node.left == null ? 0 : node.left.height;
+        int rightHeight = node.right == null ? 0 : node.right.height;
+        assertEquals(1 + Math.max(leftHeight, rightHeight), node.height, "height at " + node.data);
+        assertEquals(size, node.size, "size at " + node.data);
+        assertTrue(node.left == null || node.left.data < node.data, "left key order at " + node.data);
+        assertTrue(node.right == null || node.right.data > node.data, "right key order at " + node.data);
+        return size;
+    }
+
+    private static int[] toArray(TreeSet<Integer> keys) {
+        return keys.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static OptionalInt optional(Integer key) {
+        return key == null ? OptionalInt.empty() : OptionalInt.of(key);
+    }
+}
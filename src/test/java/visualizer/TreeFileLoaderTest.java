@@ -0,0 +1,121 @@
+package visualizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+// The node list grammar of TreeFileLoader, and its agreement with the original split(",") and
+// parseInt parsing of typed input
+class TreeFileLoaderTest {
+
+    @Test
+    void grammar() {
+        assertEquals("[1, 2, _, 4]", parse("1, 2, , 4"));
+        assertEquals("[1, _, 3]", parse("1,null,3"));
+        assertEquals("[_, 2]", parse(",2"));
+        assertEquals("[1, 2, 3]", parse("1\n2\r\n\n3\n"));
+        assertEquals("[-5, 5, 7]", parse(" -5 ,+5,\t7 "));
+        assertEquals("[2147483647, -2147483648]", parse("2147483647,-2147483648"));
+        assertEquals("[7]", parse("0000000007"));
+
+        // Empty fields at the end are dropped, as split(",") drops them
+        assertEquals("[1]", parse("1,,"));
+        assertEquals("[1, _, _, 4]", parse("1,,,4,,"));
+        assertEquals("[]", parse(",,"));
+        assertEquals("[]", parse(""));
+        assertEquals("[1, _]", parse("1,null,"));
+    }
+
+    @Test
+    void rejectsMalformedValues() {
+        for (String text : new String[] {"1 2", "1 2,3", "1,2 3", "1 null", "null 1", "-", "+", "+-1", "--1",
+                "1-", "nul", "nulll", "1x", "2147483648", "-2147483649", "1.5"}) {
+            assertThrows(NumberFormatException.class, () -> parse(text), text);
+        }
+    }
+
+    // Typed input without "null": trimmed, split at commas (dropping trailing empty fields), and every
+    // field trimmed and parsed, with a blank field as a missing node
+    @Test
+    void matchesSplitAndParseInt() {
+        Random random = new Random(89);
+        String alphabet = "0123456789,,,  +-";
+        for (int trial = 0; trial < 200_000; trial++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(16);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String input = text.toString();
+            assertEquals(splitAndParse(input), parseOrError(input), input);
+        }
+    }
+
+    @Test
+    void streamedInputMatchesText() throws IOException {
+        // Far more than one read buffer, so that tokens straddle buffer boundaries
+        StringBuilder text = new StringBuilder();
+        Random random = new Random(97);
+        for (int i = 0; i < 100_000; i++) {
+            text.append(random.nextInt(8) == 0 ? "null" : Integer.toString(random.nextInt()));
+            text.append(random.nextBoolean() ? ", " : "\r\n");
+        }
+        List<String> streamed = new ArrayList<>();
+        TreeFileLoader.load(new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.US_ASCII)),
+                collector(streamed));
+        assertEquals(parse(text.toString()), streamed.toString());
+    }
+
+    private static String parse(String text) {
+        List<String> values = new ArrayList<>();
+        TreeFileLoader.parse(text, collector(values));
+        return values.toString();
+    }
+
+    private static String parseOrError(String text) {
+        try {
+            return parse(text);
+        } catch (NumberFormatException e) {
+            return "error";
+        }
+    }
+
+    private static String splitAndParse(String text) {
+        List<String> values = new ArrayList<>();
+        String[] fields = text.trim().split(",");
+        int count = fields.length;
+        while (count > 0 && fields[count - 1].trim().isEmpty()) {
+            count--; // Blank rather than empty trailing fields are dropped as well
+        }
+        try {
+            for (int i = 0; i < count; i++) {
+                String field = fields[i].trim();
+                values.add(field.isEmpty() ? "_" : Integer.toString(Integer.parseInt(field)));
+            }
+        } catch (NumberFormatException e) {
+            return "error";
+        }
+        return values.toString();
+    }
+
+    private static TreeFileLoader.NodeSink collector(List<String> values) {
+        return new TreeFileLoader.NodeSink() {
+            @Override
+            public void node(int value) {
+                values.add(Integer.toString(value));
+            }
+
+            @Override
+            public void missing() {
+                values.add("_");
+            }
+        };
+    }
+}
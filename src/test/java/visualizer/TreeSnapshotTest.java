@@ -0,0 +1,115 @@
+package visualizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Save/load round trips of TreeSnapshot, and rejection of damaged files
+class TreeSnapshotTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void binaryTreeKeepsItsShape() throws IOException {
+        for (String shape : new String[] {"balanced", "degenerate", "random"}) {
+            BinaryTree tree = new BinaryTree();
+            tree.insertLevelOrder(TreeFixtures.levelOrderInput(shape, 2_000));
+            Path file = dir.resolve(shape + ".snap");
+            TreeSnapshot.save(tree, file);
+            assertSameShape(tree.root, TreeSnapshot.loadBinaryTree(file).root, false);
+        }
+    }
+
+    @Test
+    void binarySearchTreeKeepsShapeHeightsAndSizes() throws IOException {
+        BinarySearchTree tree = new BinarySearchTree();
+        for (int key : TreeFixtures.randomKeys(5_000, 31)) {
+            tree.insert(key);
+        }
+        Path file = dir.resolve("bst.snap");
+        TreeSnapshot.save(tree, file);
+        BinarySearchTree loaded = TreeSnapshot.loadBinarySearchTree(file);
+        assertSameShape(tree.root, loaded.root, true);
+        assertEquals(tree.size(), loaded.size());
+
+        // Inserting after a reload must rebalance with the restored heights
+        tree.insert(-1);
+        loaded.insert(-1);
+        assertSameShape(tree.root, loaded.root, true);
+    }
+
+    @Test
+    void otherEnginesKeepTheirKeys() throws IOException {
+        for (OrderedIntTree.Engine engine : OrderedIntTree.Engine.values()) {
+            OrderedIntTree tree = engine.create();
+            tree.insertAll(TreeFixtures.randomKeys(3_000, 37));
+            Path file = dir.resolve(engine.name() + ".snap");
+            TreeSnapshot.save(tree, file);
+            assertArrayEquals(tree.toSortedArray(), TreeSnapshot.loadOrderedTree(file, engine).toSortedArray());
+        }
+    }
+
+    @Test
+    void emptyTree() throws IOException {
+        Path file = dir.resolve("empty.snap");
+        TreeSnapshot.save(new BinaryTree(), file);
+        assertNull(TreeSnapshot.loadBinaryTree(file).root);
+    }
+
+    @Test
+    void rejectsDamagedFiles() throws IOException {
+        BinarySearchTree tree = new BinarySearchTree();
+        tree.bulkLoad(TreeFixtures.randomKeys(100, 41));
+        Path file = dir.resolve("bst.snap");
+        TreeSnapshot.save(tree, file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        byte[] flipped = bytes.clone();
+        flipped[20] ^= 1; // Inside the keys
+        Files.write(file, flipped);
+        assertMessage("checksum", assertThrows(IOException.class, () -> TreeSnapshot.loadBinaryTree(file)));
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertMessage("size", assertThrows(IOException.class, () -> TreeSnapshot.loadBinaryTree(file)));
+
+        BinaryTree plain = new BinaryTree();
+        plain.insertLevelOrder(new Integer[] {1, 2, 3});
+        TreeSnapshot.save(plain, file);
+        assertThrows(IOException.class, () -> TreeSnapshot.loadBinarySearchTree(file));
+    }
+
+    private static void assertMessage(String expected, IOException e) {
+        assertTrue(e.getMessage().contains(expected), e.getMessage());
+    }
+
+    // Compares keys and structure, and the heights and sizes the search trees maintain; iterative so
+    // that degenerate trees are fine
+    private static void assertSameShape(TreeNode expected, TreeNode actual, boolean searchTree) {
+        ArrayDeque<TreeNode[]> pending = new ArrayDeque<>();
+        pending.push(new TreeNode[] {expected, actual});
+        while (!pending.isEmpty()) {
+            TreeNode[] pair = pending.pop();
+            if (pair[0] == null || pair[1] == null) {
+                assertEquals(pair[0] == null, pair[1] == null, "missing node");
+                continue;
+            }
+            assertEquals(pair[0].data, pair[1].data, "key");
+            if (searchTree) {
+                assertEquals(pair[0].height, pair[1].height, "height at " + pair[0].data);
+                assertEquals(pair[0].size, pair[1].size, "size at " + pair[0].data);
+            }
+            pending.push(new TreeNode[] {pair[0].left, pair[1].left});
+            pending.push(new TreeNode[] {pair[0].right, pair[1].right});
+        }
+    }
+}
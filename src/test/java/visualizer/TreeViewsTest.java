@@ -0,0 +1,151 @@
+package visualizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+// TreeViews against straightforward queue and recursive versions of every view
+class TreeViewsTest {
+
+    @Test
+    void matchesReferenceViewsOnRandomTrees() {
+        Random random = new Random(43);
+        for (int trial = 0; trial < 500; trial++) {
+            Integer[] nodes = new Integer[random.nextInt(200)];
+            int gaps = random.nextInt(4); // From complete trees to sparse ones
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = i > 0 && random.nextInt(4) < gaps ? null : random.nextInt(1000);
+            }
+            BinaryTree tree = new BinaryTree();
+            tree.insertLevelOrder(nodes);
+            check(tree.root);
+        }
+    }
+
+    @Test
+    void matchesReferenceViewsOnShapes() {
+        for (String shape : new String[] {"balanced", "degenerate", "random"}) {
+            check(TreeFixtures.treeOfShape(shape, 1_000));
+        }
+        check(TreeFixtures.chain(300, false));
+    }
+
+    private static void check(TreeNode root) {
+        TreeViews all = TreeViews.compute(root, EnumSet.allOf(TreeViews.View.class));
+        assertView(topView(root), TreeViews.View.TOP, root, all);
+        assertView(bottomView(root), TreeViews.View.BOTTOM, root, all);
+        assertView(sideView(root, true), TreeViews.View.LEFT, root, all);
+        assertView(sideView(root, false), TreeViews.View.RIGHT, root, all);
+        assertView(boundary(root), TreeViews.View.BOUNDARY, root, all);
+    }
+
+    // Each view must come out the same alone and computed together with the others
+    private static void assertView(List<Integer> expected, TreeViews.View view, TreeNode root, TreeViews all) {
+        int[] values = expected.stream().mapToInt(Integer::intValue).toArray();
+        assertArrayEquals(values, TreeViews.compute(root, view), view.label);
+        assertArrayEquals(values, all.get(view), view.label + " with all views");
+    }
+
+    // Level-order scan per horizontal distance: the first node seen is the top, the last the bottom
+    private static List<Integer> topView(TreeNode root) {
+        return levelOrderByDistance(root, true);
+    }
+
+    private static List<Integer> bottomView(TreeNode root) {
+        return levelOrderByDistance(root, false);
+    }
+
+    private static List<Integer> levelOrderByDistance(TreeNode root, boolean firstWins) {
+        Map<Integer, Integer> view = new TreeMap<>();
+        if (root == null) {
+            return new ArrayList<>();
+        }
+        ArrayDeque<TreeNode> queue = new ArrayDeque<>();
+        ArrayDeque<Integer> distances = new ArrayDeque<>();
+        queue.add(root);
+        distances.add(0);
+        while (!queue.isEmpty()) {
+            TreeNode node = queue.poll();
+            int distance = distances.poll();
+            if (!firstWins || !view.containsKey(distance)) {
+                view.put(distance, node.data);
+            }
+            if (node.left != null) {
+                queue.add(node.left);
+                distances.add(distance - 1);
+            }
+            if (node.right != null) {
+                queue.add(node.right);
+                distances.add(distance + 1);
+            }
+        }
+        return new ArrayList<>(view.values());
+    }
+
+    // Level-order scan keeping the first (left view) or last (right view) node of every depth
+    private static List<Integer> sideView(TreeNode root, boolean left) {
+        List<Integer> view = new ArrayList<>();
+        ArrayDeque<TreeNode> level = new ArrayDeque<>();
+        if (root != null) {
+            level.add(root);
+        }
+        while (!level.isEmpty()) {
+            view.add(left ? level.peekFirst().data : level.peekLast().data);
+            ArrayDeque<TreeNode> next = new ArrayDeque<>();
+            for (TreeNode node : level) {
+                if (node.left != null) {
+                    next.add(node.left);
+                }
+                if (node.right != null) {
+                    next.add(node.right);
+                }
+            }
+            level = next;
+        }
+        return view;
+    }
+
+    // The root, the left edge without leaves, the leaves from left to right, then the right edge
+    // without leaves, top-down
+    private static List<Integer> boundary(TreeNode root) {
+        List<Integer> view = new ArrayList<>();
+        if (root == null) {
+            return view;
+        }
+        view.add(root.data);
+        for (TreeNode node = root.left; node != null; node = node.left) {
+            if (!isLeaf(node)) {
+                view.add(node.data);
+            }
+        }
+        addLeaves(root, view); // A lone root is a leaf as well, so it is listed twice, as it always was
+        for (TreeNode node = root.right; node != null; node = node.right) {
+            if (!isLeaf(node)) {
+                view.add(node.data);
+            }
+        }
+        return view;
+    }
+
+    private static void addLeaves(TreeNode node, List<Integer> view) {
+        if (node == null) {
+            return;
+        }
+        if (isLeaf(node)) {
+            view.add(node.data);
+        }
+        addLeaves(node.left, view);
+        addLeaves(node.right, view);
+    }
+
+    private static boolean isLeaf(TreeNode node) {
+        return node.left == null && node.right == null;
+    }
+}
@@ -0,0 +1,225 @@
+package visualizer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+// Input data and helpers shared by the tests and the JMH benchmarks: keys, level-order input and
+// trees of a given size and shape ("balanced", "degenerate" or "random"), reference traversals and
+// a multi-threaded writer harness
+final class TreeFixtures {
+
+    private TreeFixtures() {
+    }
+
+    // Distinct keys 0 .. count - 1 in a random order fixed by the seed
+    static int[] randomKeys(int count, long seed) {
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = tmp;
+        }
+        return keys;
+    }
+
+    // Level-order input arrays (with nulls for missing children) describing a tree of the given shape
+    static Integer[] levelOrderInput(String shape, int size) {
+        switch (shape) {
+            case "balanced": {
+                // A complete tree: no gaps at all
+                Integer[] nodes = new Integer[size];
+                for (int i = 0; i < size; i++) {
+                    nodes[i] = i;
+                }
+                return nodes;
+            }
+            case "degenerate": {
+                // Every node has only a left child: v, (v+1, null), (v+2, null), ...
+                Integer[] nodes = new Integer[Math.max(2 * size - 1, 0)];
+                for (int i = 0; i < size; i++) {
+                    nodes[Math.max(2 * i - 1, 0)] = i;
+                }
+                return nodes;
+            }
+            default:
+                return levelOrderArray(treeOfShape("random", size));
+        }
+    }
+
+    // Keys to insert into a BinarySearchTree: balanced needs no rotations, degenerate (ascending)
+    // rotates on almost every insert, random is a shuffle
+    static int[] insertionKeys(String shape, int size) {
+        switch (shape) {
+            case "balanced": {
+                BinarySearchTree tree = new BinarySearchTree();
+                int[] sorted = new int[size];
+                for (int i = 0; i < size; i++) {
+                    sorted[i] = i;
+                }
+                tree.bulkLoad(sorted);
+                IntStream.Builder keys = IntStream.builder();
+                new TreeTraversal().levelOrder(tree.root, keys::add);
+                return keys.build().toArray();
+            }
+            case "degenerate": {
+                int[] keys = new int[size];
+                for (int i = 0; i < size; i++) {
+                    keys[i] = i;
+                }
+                return keys;
+            }
+            default:
+                return randomKeys(size, 17);
+        }
+    }
+
+    // Trees of a given shape: perfectly balanced, a left chain, or an unbalanced BST of random keys
+    static TreeNode treeOfShape(String shape, int size) {
+        switch (shape) {
+            case "balanced": {
+                BinarySearchTree tree = new BinarySearchTree();
+                tree.bulkLoad(randomKeys(size, 3));
+                return tree.root;
+            }
+            case "degenerate":
+                return chain(size, true);
+            default: {
+                TreeNode root = null;
+                for (int key : randomKeys(size, 5)) {
+                    root = insertUnbalanced(root, key);
+                }
+                return root;
+            }
+        }
+    }
+
+    // Plain BST insertion without rebalancing, iterative so that deep random trees are fine
+    private static TreeNode insertUnbalanced(TreeNode root, int key) {
+        TreeNode node = new TreeNode(key);
+        if (root == null) {
+            return node;
+        }
+        TreeNode current = root;
+        while (true) {
+            if (key < current.data) {
+                if (current.left == null) {
+                    current.left = node;
+                    return root;
+                }
+                current = current.left;
+            } else {
+                if (current.right == null) {
+                    current.right = node;
+                    return root;
+                }
+                current = current.right;
+            }
+        }
+    }
+
+    // Serializes a tree in the level-order format that BinaryTree.insertLevelOrder reads
+    static Integer[] levelOrderArray(TreeNode root) {
+        List<Integer> nodes = new ArrayList<>();
+        if (root == null) {
+            return new Integer[0];
+        }
+        ArrayDeque<TreeNode> queue = new ArrayDeque<>();
+        queue.add(root);
+        nodes.add(root.data);
+        while (!queue.isEmpty()) {
+            TreeNode current = queue.poll();
+            for (TreeNode child : new TreeNode[] {current.left, current.right}) {
+                nodes.add(child == null ? null : child.data);
+                if (child != null) {
+                    queue.add(child);
+                }
+            }
+        }
+        // Trailing nulls carry no information
+        int length = nodes.size();
+        while (nodes.get(length - 1) == null) {
+            length--;
+        }
+        return nodes.subList(0, length).toArray(new Integer[0]);
+    }
+
+    // A degenerate tree: every node has only a left (or only a right) child
+    static TreeNode chain(int length, boolean leftLeaning) {
+        TreeNode root = null;
+        for (int i = 0; i < length; i++) {
+            TreeNode node = new TreeNode(leftLeaning ? i : length - i);
+            if (leftLeaning) {
+                node.left = root;
+            } else {
+                node.right = root;
+            }
+            root = node;
+        }
+        return root;
+    }
+
+    // Plain recursive traversals, the reference the stack-based and Morris traversals are measured against
+    static void recursiveInorder(TreeNode node, IntConsumer visitor) {
+        if (node != null) {
+            recursiveInorder(node.left, visitor);
+            visitor.accept(node.data);
+            recursiveInorder(node.right, visitor);
+        }
+    }
+
+    static void recursivePreorder(TreeNode node, IntConsumer visitor) {
+        if (node != null) {
+            visitor.accept(node.data);
+            recursivePreorder(node.left, visitor);
+            recursivePreorder(node.right, visitor);
+        }
+    }
+
+    // Splits the keys round-robin over the writer threads, each of which also takes the first
+    // sharedKeys keys, and returns the wall-clock time until all writers are done in milliseconds
+    static double runWriters(int threads, int[] keys, int sharedKeys, IntConsumer insert) {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] writers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            writers[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < sharedKeys; i++) {
+                        insert.accept(keys[i]);
+                    }
+                    for (int i = first; i < keys.length; i += threads) {
+                        insert.accept(keys[i]);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "writer-" + t);
+        }
+        long start = System.nanoTime();
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        try {
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (failure.get() != null) {
+            throw new IllegalStateException("Writer failed", failure.get());
+        }
+        return elapsed / 1e6;
+    }
+}